@@ -0,0 +1,194 @@
+package com.capacitorjs.plugins.applauncher;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
+import android.net.Uri;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import com.getcapacitor.Logger;
+import com.getcapacitor.util.InternalUtils;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Resolves whether URLs and package names can be opened and caches the results, so repeated
+ * checks don't cost several package manager calls each.
+ *
+ * The caches are bounded, since the URLs are chosen by the app and may be unique, and are
+ * cleared whenever a package is installed, removed or changed.
+ */
+class AppLauncher {
+
+    /**
+     * The ways a URL is turned into an intent to launch, in the order they are tried.
+     */
+    public enum Strategy {
+        URL("url"),
+        PACKAGE("package"),
+        ACTION("action"),
+        NONE("none");
+
+        private String strategy;
+
+        Strategy(String strategy) {
+            this.strategy = strategy;
+        }
+
+        public String getStrategy() {
+            return this.strategy;
+        }
+    }
+
+    private static final int CACHE_SIZE = 256;
+
+    private final Context context;
+    private final LruCache<String, Boolean> canOpenCache;
+    private final LruCache<String, Strategy> launchCache;
+    // Bumped on invalidation, so results resolved before a package change are not cached
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private BroadcastReceiver packageReceiver;
+
+    AppLauncher(@NonNull Context context) {
+        this(context, CACHE_SIZE);
+    }
+
+    AppLauncher(@NonNull Context context, int cacheSize) {
+        this.context = context.getApplicationContext();
+        this.canOpenCache = new LruCache<>(cacheSize);
+        this.launchCache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Check if an app can be opened with the given URL or package name.
+     */
+    boolean canOpenUrl(@NonNull String url) {
+        return cached(canOpenCache, url, this::resolve);
+    }
+
+    /**
+     * Find the strategy whose intent resolves to an activity, without launching anything.
+     *
+     * @return the first matching strategy, or {@link Strategy#NONE} if no intent resolves
+     */
+    @NonNull
+    Strategy resolveLaunchStrategy(@NonNull String url) {
+        return cached(launchCache, url, this::resolveLaunch);
+    }
+
+    /**
+     * Record the strategy that launched the URL, for apps the package manager doesn't reveal.
+     */
+    void rememberLaunchStrategy(@NonNull String url, @NonNull Strategy strategy) {
+        launchCache.put(url, strategy);
+    }
+
+    /**
+     * @return the intent of the strategy, or null if the strategy has none for the URL
+     */
+    @Nullable
+    Intent createLaunchIntent(@NonNull String url, @NonNull Strategy strategy) {
+        switch (strategy) {
+            case URL:
+                return new Intent(Intent.ACTION_VIEW, Uri.parse(url));
+            case PACKAGE:
+                return context.getPackageManager().getLaunchIntentForPackage(url);
+            case ACTION:
+                return new Intent(url);
+            default:
+                return null;
+        }
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+        canOpenCache.evictAll();
+        launchCache.evictAll();
+    }
+
+    /**
+     * Clear the cache when packages change, only packages visible to the app are reported.
+     */
+    synchronized void startWatchingPackages() {
+        if (packageReceiver != null) {
+            return;
+        }
+        packageReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                invalidate();
+            }
+        };
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        filter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        filter.addDataScheme("package");
+        // Package broadcasts come from the system, which reaches unexported receivers
+        ContextCompat.registerReceiver(context, packageReceiver, filter, ContextCompat.RECEIVER_NOT_EXPORTED);
+    }
+
+    synchronized void stopWatchingPackages() {
+        if (packageReceiver == null) {
+            return;
+        }
+        context.unregisterReceiver(packageReceiver);
+        packageReceiver = null;
+        // Changes are no longer observed, so the cached results can't be trusted
+        invalidate();
+    }
+
+    private boolean resolve(String url) {
+        final PackageManager pm = context.getPackageManager();
+        try {
+            InternalUtils.getPackageInfo(pm, url, PackageManager.GET_ACTIVITIES);
+            return true;
+        } catch (PackageManager.NameNotFoundException e) {
+            Logger.error(Logger.tags("AppLauncher"), "Package name '" + url + "' not found!", null);
+        }
+        if (canResolve(pm, new Intent(Intent.ACTION_VIEW, Uri.parse(url)))) {
+            return true;
+        }
+        return canResolve(pm, new Intent(url));
+    }
+
+    private Strategy resolveLaunch(String url) {
+        final PackageManager pm = context.getPackageManager();
+        if (canResolve(pm, createLaunchIntent(url, Strategy.URL))) {
+            return Strategy.URL;
+        }
+        // Only returns an intent when the package has a launcher activity
+        if (createLaunchIntent(url, Strategy.PACKAGE) != null) {
+            return Strategy.PACKAGE;
+        }
+        if (canResolve(pm, createLaunchIntent(url, Strategy.ACTION))) {
+            return Strategy.ACTION;
+        }
+        return Strategy.NONE;
+    }
+
+    private <T> T cached(LruCache<String, T> cache, String url, Function<String, T> resolver) {
+        T cached = cache.get(url);
+        if (cached != null) {
+            return cached;
+        }
+
+        int resolvedGeneration = generation.get();
+        T value = resolver.apply(url);
+        if (resolvedGeneration == generation.get()) {
+            cache.put(url, value);
+        }
+        return value;
+    }
+
+    private boolean canResolve(PackageManager pm, Intent intent) {
+        ResolveInfo resolve = pm.resolveActivity(intent, PackageManager.MATCH_DEFAULT_ONLY);
+        return resolve != null;
+    }
+}
@@ -1,21 +1,26 @@
 package com.capacitorjs.plugins.applauncher;
 
-import android.content.Context;
 import android.content.Intent;
-import android.content.pm.PackageManager;
-import android.content.pm.ResolveInfo;
-import android.net.Uri;
+import android.os.Build;
+import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
-import com.getcapacitor.Logger;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
-import com.getcapacitor.util.InternalUtils;
+import org.json.JSONException;
 
 @CapacitorPlugin(name = "AppLauncher")
 public class AppLauncherPlugin extends Plugin {
 
+    private AppLauncher implementation;
+
+    @Override
+    public void load() {
+        implementation = new AppLauncher(getContext());
+        implementation.startWatchingPackages();
+    }
+
     @PluginMethod
     public void canOpenUrl(PluginCall call) {
         String url = call.getString("url");
@@ -24,29 +29,35 @@ public class AppLauncherPlugin extends Plugin {
             return;
         }
 
-        Context ctx = this.getActivity().getApplicationContext();
-        final PackageManager pm = ctx.getPackageManager();
-
         JSObject ret = new JSObject();
-        try {
-            InternalUtils.getPackageInfo(pm, url, PackageManager.GET_ACTIVITIES);
-            ret.put("value", true);
-            call.resolve(ret);
+        ret.put("value", implementation.canOpenUrl(url));
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void canOpenUrls(PluginCall call) {
+        JSArray urls = call.getArray("urls");
+        if (urls == null) {
+            call.reject("Must supply urls");
             return;
-        } catch (PackageManager.NameNotFoundException e) {
-            Logger.error(getLogTag(), "Package name '" + url + "' not found!", null);
         }
-        if (!canResolve(pm, new Intent(Intent.ACTION_VIEW, Uri.parse(url)))) {
-            ret.put("value", canResolve(pm, new Intent(url)));
-        } else {
-            ret.put("value", true);
+
+        JSArray results = new JSArray();
+        try {
+            for (String url : urls.<String>toList()) {
+                JSObject result = new JSObject();
+                result.put("url", url);
+                result.put("value", implementation.canOpenUrl(url));
+                results.put(result);
+            }
+        } catch (JSONException | ClassCastException ex) {
+            call.reject("Urls must be strings");
+            return;
         }
-        call.resolve(ret);
-    }
 
-    private boolean canResolve(PackageManager pm, Intent intent) {
-        ResolveInfo resolve = pm.resolveActivity(intent, PackageManager.MATCH_DEFAULT_ONLY);
-        return resolve != null;
+        JSObject ret = new JSObject();
+        ret.put("results", results);
+        call.resolve(ret);
     }
 
     @PluginMethod
@@ -56,22 +67,46 @@ public class AppLauncherPlugin extends Plugin {
             call.reject("Must provide a url to open");
             return;
         }
+
+        // Resolve first, so only the matching intent is started
+        AppLauncher.Strategy strategy = implementation.resolveLaunchStrategy(url);
+        if (strategy == AppLauncher.Strategy.NONE || !canLaunchIntent(implementation.createLaunchIntent(url, strategy))) {
+            strategy = launchByTrial(url, strategy);
+        }
+
         JSObject ret = new JSObject();
-        final PackageManager manager = getContext().getPackageManager();
-        Intent launchIntent = new Intent(Intent.ACTION_VIEW);
-        launchIntent.setData(Uri.parse(url));
-        if (!canLaunchIntent(launchIntent)) {
-            if (!canLaunchIntent(manager.getLaunchIntentForPackage(url))) {
-                ret.put("completed", canLaunchIntent(new Intent(url)));
-            } else {
-                ret.put("completed", true);
-            }
-        } else {
-            ret.put("completed", true);
+        ret.put("completed", strategy != AppLauncher.Strategy.NONE);
+        if (strategy != AppLauncher.Strategy.NONE) {
+            ret.put("strategy", strategy.getStrategy());
         }
         call.resolve(ret);
     }
 
+    /**
+     * Start the intent of each strategy in turn until one launches. Since Android 11 the package
+     * manager only reveals apps declared in the manifest queries, so an intent can launch even
+     * though it didn't resolve.
+     *
+     * @param skip the strategy that was already tried
+     */
+    private AppLauncher.Strategy launchByTrial(String url, AppLauncher.Strategy skip) {
+        AppLauncher.Strategy launched = AppLauncher.Strategy.NONE;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R || skip != AppLauncher.Strategy.NONE) {
+            for (AppLauncher.Strategy strategy : AppLauncher.Strategy.values()) {
+                if (strategy == skip || strategy == AppLauncher.Strategy.NONE) {
+                    continue;
+                }
+                Intent intent = implementation.createLaunchIntent(url, strategy);
+                if (intent != null && canLaunchIntent(intent)) {
+                    launched = strategy;
+                    break;
+                }
+            }
+        }
+        implementation.rememberLaunchStrategy(url, launched);
+        return launched;
+    }
+
     private boolean canLaunchIntent(Intent intent) {
         try {
             getActivity().startActivity(intent);
@@ -80,4 +115,9 @@ public class AppLauncherPlugin extends Plugin {
             return false;
         }
     }
+
+    @Override
+    protected void handleOnDestroy() {
+        implementation.stopWatchingPackages();
+    }
 }
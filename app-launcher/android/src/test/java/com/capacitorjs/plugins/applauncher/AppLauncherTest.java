@@ -0,0 +1,102 @@
+package com.capacitorjs.plugins.applauncher;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageInfo;
+import android.net.Uri;
+import android.os.Looper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowPackageManager;
+
+@RunWith(RobolectricTestRunner.class)
+public class AppLauncherTest {
+
+    private static final String PACKAGE = "com.example.maps";
+    private static final String OTHER_PACKAGE = "com.example.mail";
+
+    private Context context;
+    private ShadowPackageManager packageManager;
+    private AppLauncher launcher;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        packageManager = shadowOf(context.getPackageManager());
+        launcher = new AppLauncher(context);
+        launcher.startWatchingPackages();
+    }
+
+    @After
+    public void tearDown() {
+        launcher.stopWatchingPackages();
+    }
+
+    private void install(String packageName) {
+        PackageInfo info = new PackageInfo();
+        info.packageName = packageName;
+        packageManager.installPackage(info);
+    }
+
+    private void broadcast(String action, String packageName) {
+        context.sendBroadcast(new Intent(action, Uri.parse("package:" + packageName)));
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    @Test
+    public void resultsAreCachedUntilPackagesChange() {
+        assertFalse(launcher.canOpenUrl(PACKAGE));
+
+        // without a broadcast the cached result is kept
+        install(PACKAGE);
+        assertFalse(launcher.canOpenUrl(PACKAGE));
+    }
+
+    @Test
+    public void cacheIsInvalidatedWhenAPackageIsAdded() {
+        assertFalse(launcher.canOpenUrl(PACKAGE));
+
+        install(PACKAGE);
+        broadcast(Intent.ACTION_PACKAGE_ADDED, PACKAGE);
+        assertTrue(launcher.canOpenUrl(PACKAGE));
+    }
+
+    @Test
+    public void cacheIsInvalidatedWhenAPackageIsRemoved() {
+        install(PACKAGE);
+        assertTrue(launcher.canOpenUrl(PACKAGE));
+
+        packageManager.removePackage(PACKAGE);
+        broadcast(Intent.ACTION_PACKAGE_REMOVED, PACKAGE);
+        assertFalse(launcher.canOpenUrl(PACKAGE));
+    }
+
+    @Test
+    public void cacheIsInvalidatedWhenWatchingStops() {
+        assertFalse(launcher.canOpenUrl(PACKAGE));
+
+        install(PACKAGE);
+        launcher.stopWatchingPackages();
+        assertTrue(launcher.canOpenUrl(PACKAGE));
+    }
+
+    @Test
+    public void leastRecentlyUsedResultsAreEvicted() {
+        AppLauncher small = new AppLauncher(context, 1);
+        assertFalse(small.canOpenUrl(PACKAGE));
+        assertFalse(small.canOpenUrl(OTHER_PACKAGE));
+
+        // only the result of the other package is still cached
+        install(PACKAGE);
+        install(OTHER_PACKAGE);
+        assertFalse(small.canOpenUrl(OTHER_PACKAGE));
+        assertTrue(small.canOpenUrl(PACKAGE));
+    }
+}
@@ -7,6 +7,7 @@ public class AppLauncherPlugin: CAPPlugin, CAPBridgedPlugin {
     public let jsName = "AppLauncher"
     public let pluginMethods: [CAPPluginMethod] = [
         CAPPluginMethod(name: "canOpenUrl", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "canOpenUrls", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "openUrl", returnType: CAPPluginReturnPromise)
     ]
 
@@ -30,6 +31,26 @@ public class AppLauncherPlugin: CAPPlugin, CAPBridgedPlugin {
         }
     }
 
+    @objc func canOpenUrls(_ call: CAPPluginCall) {
+        guard let urlStrings = call.getArray("urls", String.self) else {
+            call.reject("Must supply URLs")
+            return
+        }
+
+        DispatchQueue.main.async {
+            let results: [[String: Any]] = urlStrings.map { urlString in
+                guard let url = URL.init(string: urlString) else {
+                    return ["url": urlString, "value": false]
+                }
+                return ["url": urlString, "value": UIApplication.shared.canOpenURL(url)]
+            }
+
+            call.resolve([
+                "results": results
+            ])
+        }
+    }
+
     @objc func openUrl(_ call: CAPPluginCall) {
         guard let urlString = call.getString("url") else {
             call.reject("Must supply a URL")
@@ -21,6 +21,17 @@ export interface AppLauncherPlugin {
    */
   canOpenUrl(options: CanOpenURLOptions): Promise<CanOpenURLResult>;
 
+  /**
+   * Check if apps can be opened with each of the given URLs, with the same
+   * rules as `canOpenUrl`.
+   *
+   * On Android the results are cached until an app is installed, removed or
+   * updated, so repeated checks are cheap.
+   *
+   * @since 8.1.0
+   */
+  canOpenUrls(options: CanOpenURLsOptions): Promise<CanOpenURLsResult>;
+
   /**
    * Open an app with the given URL.
    * On iOS the URL should be a known URLScheme.
@@ -39,10 +50,55 @@ export interface CanOpenURLResult {
   value: boolean;
 }
 
+export interface CanOpenURLsOptions {
+  /**
+   * The URLs or, on Android, package names to check.
+   *
+   * @since 8.1.0
+   */
+  urls: string[];
+}
+
+export interface CanOpenURLsResult {
+  /**
+   * The result for every URL, in the order they were passed.
+   *
+   * @since 8.1.0
+   */
+  results: CanOpenURLsEntry[];
+}
+
+export interface CanOpenURLsEntry {
+  /**
+   * The URL that was checked.
+   *
+   * @since 8.1.0
+   */
+  url: string;
+
+  /**
+   * Whether an app can be opened with the URL.
+   *
+   * @since 8.1.0
+   */
+  value: boolean;
+}
+
 export interface OpenURLOptions {
   url: string;
 }
 
 export interface OpenURLResult {
   completed: boolean;
+
+  /**
+   * Android only: How the URL was turned into the launched intent.
+   *
+   * `url` opens the URL with a view intent, `package` launches the app with
+   * the given package name and `action` starts an intent with the URL as its
+   * action. Not set if nothing was launched.
+   *
+   * @since 8.1.0
+   */
+  strategy?: 'url' | 'package' | 'action';
 }
@@ -4,6 +4,8 @@ import type {
   AppLauncherPlugin,
   CanOpenURLOptions,
   CanOpenURLResult,
+  CanOpenURLsOptions,
+  CanOpenURLsResult,
   OpenURLOptions,
   OpenURLResult,
 } from './definitions';
@@ -13,6 +15,10 @@ export class AppLauncherWeb extends WebPlugin implements AppLauncherPlugin {
     return { value: true };
   }
 
+  async canOpenUrls(options: CanOpenURLsOptions): Promise<CanOpenURLsResult> {
+    return { results: options.urls.map((url) => ({ url, value: true })) };
+  }
+
   async openUrl(options: OpenURLOptions): Promise<OpenURLResult> {
     window.open(options.url, '_blank');
     return { completed: true };
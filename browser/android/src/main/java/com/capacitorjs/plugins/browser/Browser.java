@@ -7,9 +7,15 @@ import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.RemoteException;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.browser.customtabs.*;
+import com.getcapacitor.Logger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The Browser class implements Custom Chrome Tabs. See
@@ -25,6 +31,13 @@ public class Browser {
         void onBrowserEvent(int event);
     }
 
+    /**
+     * Interface for callbacks with the timing of every navigation in the browser.
+     */
+    interface BrowserNavigationListener {
+        void onNavigation(@NonNull NavigationTiming.Navigation navigation);
+    }
+
     /**
      * Sent when the browser has loaded the initial page.
      */
@@ -38,21 +51,41 @@ public class Browser {
     @Nullable
     private BrowserEventListener browserEventListener;
 
+    @Nullable
+    private BrowserNavigationListener browserNavigationListener;
+
+    @Nullable
+    private EngagementSignalsCallback engagementSignalsCallback;
+
     private Context context;
     private static final String FALLBACK_CUSTOM_TAB_PACKAGE_NAME = "com.android.chrome";
     private CustomTabsClient customTabsClient;
+    // Kept for as long as the service stays connected, sessions don't survive a reconnect
     private CustomTabsSession browserSession;
+    private boolean isBound = false;
+    private List<Uri> likelyUrls = new ArrayList<>();
     private boolean isInitialLoad = false;
     private EventGroup group;
+    private NavigationTiming navigationTiming = new NavigationTiming();
     private CustomTabsServiceConnection connection = new CustomTabsServiceConnection() {
         @Override
         public void onCustomTabsServiceConnected(ComponentName name, CustomTabsClient client) {
-            customTabsClient = client;
-            client.warmup(0);
+            synchronized (Browser.this) {
+                customTabsClient = client;
+                client.warmup(0);
+                if (!likelyUrls.isEmpty()) {
+                    applyLikelyUrls();
+                }
+            }
         }
 
         @Override
-        public void onServiceDisconnected(ComponentName name) {}
+        public void onServiceDisconnected(ComponentName name) {
+            synchronized (Browser.this) {
+                customTabsClient = null;
+                browserSession = null;
+            }
+        }
     };
 
     /**
@@ -81,6 +114,26 @@ public class Browser {
         return browserEventListener;
     }
 
+    /**
+     * Set the object to receive the timing of every navigation.
+     * @param listener
+     */
+    public void setBrowserNavigationListener(@Nullable BrowserNavigationListener listener) {
+        this.browserNavigationListener = listener;
+    }
+
+    /**
+     * Set the object to receive engagement signals, such as scrolling, from the browser. Only
+     * delivered by browsers that support the engagement signals API.
+     * @param callback
+     */
+    public synchronized void setEngagementSignalsCallback(@Nullable EngagementSignalsCallback callback) {
+        this.engagementSignalsCallback = callback;
+        if (browserSession != null) {
+            registerEngagementSignals(browserSession);
+        }
+    }
+
     /**
      * Open the browser to the specified URL.
      * @param url
@@ -107,33 +160,105 @@ public class Browser {
         CustomTabsIntent tabsIntent = builder.build();
         tabsIntent.intent.putExtra(Intent.EXTRA_REFERRER, Uri.parse(Intent.URI_ANDROID_APP_SCHEME + "//" + context.getPackageName()));
 
-        isInitialLoad = true;
-        group.reset();
+        // the navigation events are handled on the main thread, so their state is reset there
+        // too, before the tab can deliver any event
+        Runnable reset = () -> {
+            isInitialLoad = true;
+            group.reset();
+            navigationTiming.reset();
+        };
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            reset.run();
+        } else {
+            new Handler(Looper.getMainLooper()).post(reset);
+        }
         tabsIntent.launchUrl(context, url);
     }
 
     /**
-     * Bind to the custom tabs service, required to be called in the `onResume` lifecycle event.
+     * Tell the browser which URLs are likely to be opened next, so it can resolve and
+     * preconnect to them before `open` is called. The hints are kept and applied again
+     * whenever the service reconnects.
+     * @param urls the likely URLs, most likely first
      */
-    public boolean bindService() {
+    public synchronized void setLikelyUrls(@NonNull List<Uri> urls) {
+        likelyUrls = new ArrayList<>(urls);
+        if (customTabsClient != null) {
+            applyLikelyUrls();
+        }
+    }
+
+    private void applyLikelyUrls() {
+        CustomTabsSession session = getCustomTabsSession();
+        if (session == null) {
+            return;
+        }
+
+        Uri primary = likelyUrls.isEmpty() ? null : likelyUrls.get(0);
+        List<Bundle> others = null;
+        if (likelyUrls.size() > 1) {
+            others = new ArrayList<>(likelyUrls.size() - 1);
+            for (Uri url : likelyUrls.subList(1, likelyUrls.size())) {
+                Bundle bundle = new Bundle();
+                bundle.putParcelable(CustomTabsService.KEY_URL, url);
+                others.add(bundle);
+            }
+        }
+        if (!session.mayLaunchUrl(primary, null, others)) {
+            Logger.debug("Custom tabs service rejected the likely URLs");
+        }
+    }
+
+    /**
+     * Bind to the custom tabs service. The binding is kept until `unbindService` is called, so
+     * the session survives the app going to the background while the browser is open. Binding
+     * again while bound does nothing.
+     */
+    public synchronized boolean bindService() {
+        if (isBound) {
+            return true;
+        }
         String customTabPackageName = CustomTabsClient.getPackageName(context, null);
         if (null == customTabPackageName) {
             customTabPackageName = FALLBACK_CUSTOM_TAB_PACKAGE_NAME;
         }
-        boolean result = CustomTabsClient.bindCustomTabsService(context, customTabPackageName, connection);
-        group.leave();
-        return result;
+        isBound = CustomTabsClient.bindCustomTabsService(context, customTabPackageName, connection);
+        return isBound;
     }
 
     /**
-     * Unbind the custom tabs service, required to be called in the `onPause` lifecycle event.
+     * Unbind the custom tabs service, required to be called when the plugin is destroyed.
      */
-    public void unbindService() {
+    public synchronized void unbindService() {
+        if (!isBound) {
+            return;
+        }
         context.unbindService(connection);
+        isBound = false;
+        customTabsClient = null;
+        browserSession = null;
+    }
+
+    /**
+     * Required to be called in the `onResume` lifecycle event.
+     */
+    public void handleResume() {
+        group.leave();
+    }
+
+    /**
+     * Required to be called in the `onPause` lifecycle event.
+     */
+    public void handlePause() {
         group.enter();
     }
 
-    private void handledNavigationEvent(int navigationEvent) {
+    private void handledNavigationEvent(int navigationEvent, @Nullable Bundle extras) {
+        NavigationTiming.Navigation navigation = navigationTiming.record(navigationEvent, extras);
+        if (navigation != null && browserNavigationListener != null) {
+            browserNavigationListener.onNavigation(navigation);
+        }
+
         switch (navigationEvent) {
             case CustomTabsCallback.NAVIGATION_FINISHED:
                 if (isInitialLoad) {
@@ -161,8 +286,13 @@ public class Browser {
         }
     }
 
+    /**
+     * Return the session of the connected client. The session is reused for every open, so
+     * the warm renderer and the likely URL hints carry over, and is only recreated after the
+     * service disconnected.
+     */
     @Nullable
-    private CustomTabsSession getCustomTabsSession() {
+    private synchronized CustomTabsSession getCustomTabsSession() {
         if (customTabsClient == null) {
             return null;
         }
@@ -172,12 +302,29 @@ public class Browser {
                 new CustomTabsCallback() {
                     @Override
                     public void onNavigationEvent(int navigationEvent, Bundle extras) {
-                        handledNavigationEvent(navigationEvent);
+                        handledNavigationEvent(navigationEvent, extras);
                     }
                 }
             );
+            if (engagementSignalsCallback != null) {
+                registerEngagementSignals(browserSession);
+            }
         }
 
         return browserSession;
     }
+
+    private void registerEngagementSignals(CustomTabsSession session) {
+        try {
+            Bundle extras = new Bundle();
+            if (engagementSignalsCallback == null || !session.isEngagementSignalsApiAvailable(extras)) {
+                return;
+            }
+            if (!session.setEngagementSignalsCallback(engagementSignalsCallback, extras)) {
+                Logger.debug("Custom tabs service rejected the engagement signals callback");
+            }
+        } catch (RemoteException | UnsupportedOperationException ex) {
+            Logger.debug("Engagement signals are not available: " + ex.getMessage());
+        }
+    }
 }
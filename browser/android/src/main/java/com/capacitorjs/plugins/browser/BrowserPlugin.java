@@ -3,12 +3,22 @@ package com.capacitorjs.plugins.browser;
 import android.content.ActivityNotFoundException;
 import android.content.Intent;
 import android.net.Uri;
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.browser.customtabs.EngagementSignalsCallback;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
 import com.getcapacitor.Logger;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
 import com.getcapacitor.util.WebColor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.json.JSONException;
+import org.json.JSONObject;
 
 @CapacitorPlugin(name = "Browser")
 public class BrowserPlugin extends Plugin {
@@ -28,6 +38,34 @@ public class BrowserPlugin extends Plugin {
     public void load() {
         implementation = new Browser(getContext());
         implementation.setBrowserEventListener(this::onBrowserEvent);
+        implementation.setBrowserNavigationListener(this::onNavigation);
+        implementation.setEngagementSignalsCallback(
+            new EngagementSignalsCallback() {
+                @Override
+                public void onVerticalScrollEvent(boolean isDirectionUp, @NonNull Bundle extras) {
+                    JSObject ret = new JSObject();
+                    ret.put("type", "verticalScroll");
+                    ret.put("isDirectionUp", isDirectionUp);
+                    notifyListeners("browserEngagement", ret);
+                }
+
+                @Override
+                public void onGreatestScrollPercentageIncreased(int scrollPercentage, @NonNull Bundle extras) {
+                    JSObject ret = new JSObject();
+                    ret.put("type", "scrollPercentage");
+                    ret.put("scrollPercentage", scrollPercentage);
+                    notifyListeners("browserEngagement", ret);
+                }
+
+                @Override
+                public void onSessionEnded(boolean didUserInteract, @NonNull Bundle extras) {
+                    JSObject ret = new JSObject();
+                    ret.put("type", "sessionEnded");
+                    ret.put("didUserInteract", didUserInteract);
+                    notifyListeners("browserEngagement", ret);
+                }
+            }
+        );
     }
 
     @PluginMethod
@@ -90,15 +128,56 @@ public class BrowserPlugin extends Plugin {
         call.resolve();
     }
 
+    @PluginMethod
+    public void prefetch(PluginCall call) {
+        JSArray urls = call.getArray("urls");
+        if (urls == null) {
+            call.reject("Must provide URLs to prefetch");
+            return;
+        }
+
+        List<JSONObject> entries = new ArrayList<>(urls.length());
+        try {
+            for (int i = 0; i < urls.length(); i++) {
+                entries.add(urls.getJSONObject(i));
+            }
+        } catch (JSONException ex) {
+            call.reject("URLs must be objects with a url and an optional priority");
+            return;
+        }
+        // Stable sort, so entries with the same priority keep their order
+        Collections.sort(entries, (a, b) -> Double.compare(b.optDouble("priority", 0), a.optDouble("priority", 0)));
+
+        List<Uri> likelyUrls = new ArrayList<>(entries.size());
+        for (JSONObject entry : entries) {
+            String url = entry.optString("url", "");
+            if (url.isEmpty()) {
+                call.reject("URL must not be empty");
+                return;
+            }
+            likelyUrls.add(Uri.parse(url));
+        }
+
+        implementation.setLikelyUrls(likelyUrls);
+        call.resolve();
+    }
+
     @Override
     protected void handleOnResume() {
+        // also retries a binding that failed before
         if (!implementation.bindService()) {
             Logger.error(getLogTag(), "Error binding to custom tabs service", null);
         }
+        implementation.handleResume();
     }
 
     @Override
     protected void handleOnPause() {
+        implementation.handlePause();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
         implementation.unbindService();
     }
 
@@ -112,4 +191,21 @@ public class BrowserPlugin extends Plugin {
                 break;
         }
     }
+
+    void onNavigation(NavigationTiming.Navigation navigation) {
+        JSObject ret = new JSObject();
+        ret.put("type", navigation.type.getType());
+        ret.put("index", navigation.index);
+        ret.put("timestamp", navigation.timestamp);
+        if (navigation.sinceOpen >= 0) {
+            ret.put("sinceOpen", navigation.sinceOpen);
+        }
+        if (navigation.duration >= 0) {
+            ret.put("duration", navigation.duration);
+        }
+        if (navigation.online != null) {
+            ret.put("online", navigation.online);
+        }
+        notifyListeners("browserNavigation", ret);
+    }
 }
@@ -0,0 +1,129 @@
+package com.capacitorjs.plugins.browser;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+import androidx.browser.customtabs.CustomTabsCallback;
+
+/**
+ * Records the start, finish and failure of the navigations in a custom tab and computes their
+ * durations. Not thread safe, navigation events are delivered on the main thread, so it must
+ * only be used, and reset, there.
+ */
+class NavigationTiming {
+
+    public enum Type {
+        STARTED("started"),
+        FINISHED("finished"),
+        FAILED("failed"),
+        ABORTED("aborted");
+
+        private String type;
+
+        Type(String type) {
+            this.type = type;
+        }
+
+        public String getType() {
+            return this.type;
+        }
+    }
+
+    static class Navigation {
+
+        Type type;
+        /**
+         * Counts the navigations since the browser was opened, starting at 1.
+         */
+        int index;
+        /**
+         * Wall clock time of the event in milliseconds since the epoch.
+         */
+        long timestamp;
+        /**
+         * Milliseconds since the browser was opened.
+         */
+        long sinceOpen;
+        /**
+         * Milliseconds since the navigation started, or -1 for started events and when the
+         * start was not seen.
+         */
+        long duration = -1;
+        /**
+         * Whether the device was online when the navigation failed, null if not reported.
+         */
+        @Nullable
+        Boolean online;
+    }
+
+    // Set by Chrome on navigation events, in the time base of SystemClock.uptimeMillis
+    private static final String TIMESTAMP_EXTRAS_KEY = "timestampUptimeMillis";
+    private static final long UNSET = -1;
+
+    private long openUptime = UNSET;
+    private long startUptime = UNSET;
+    private int count;
+
+    /**
+     * Start a new timeline, called when the browser is opened.
+     */
+    void reset() {
+        openUptime = SystemClock.uptimeMillis();
+        startUptime = UNSET;
+        count = 0;
+    }
+
+    /**
+     * @return the navigation described by the event, or null if the event is not about a navigation
+     */
+    @Nullable
+    Navigation record(int navigationEvent, @Nullable Bundle extras) {
+        Type type;
+        switch (navigationEvent) {
+            case CustomTabsCallback.NAVIGATION_STARTED:
+                type = Type.STARTED;
+                break;
+            case CustomTabsCallback.NAVIGATION_FINISHED:
+                type = Type.FINISHED;
+                break;
+            case CustomTabsCallback.NAVIGATION_FAILED:
+                type = Type.FAILED;
+                break;
+            case CustomTabsCallback.NAVIGATION_ABORTED:
+                type = Type.ABORTED;
+                break;
+            default:
+                return null;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        long uptime = now;
+        if (extras != null) {
+            long reported = extras.getLong(TIMESTAMP_EXTRAS_KEY, UNSET);
+            // Prefer the browser's own time, the callback is delivered after a hop to the main thread
+            if (reported > 0 && reported <= now) {
+                uptime = reported;
+            }
+        }
+
+        Navigation navigation = new Navigation();
+        navigation.type = type;
+        navigation.timestamp = System.currentTimeMillis() - (now - uptime);
+        navigation.sinceOpen = openUptime == UNSET ? -1 : uptime - openUptime;
+
+        if (type == Type.STARTED) {
+            count++;
+            startUptime = uptime;
+        } else {
+            if (startUptime != UNSET) {
+                navigation.duration = uptime - startUptime;
+            }
+            startUptime = UNSET;
+            if (type == Type.FAILED && extras != null && extras.containsKey(CustomTabsCallback.ONLINE_EXTRAS_KEY)) {
+                navigation.online = extras.getBoolean(CustomTabsCallback.ONLINE_EXTRAS_KEY);
+            }
+        }
+        navigation.index = count;
+        return navigation;
+    }
+}
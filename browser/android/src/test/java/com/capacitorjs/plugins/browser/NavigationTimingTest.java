@@ -0,0 +1,123 @@
+package com.capacitorjs.plugins.browser;
+
+import static org.junit.Assert.*;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import androidx.browser.customtabs.CustomTabsCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class NavigationTimingTest {
+
+    private NavigationTiming timing;
+
+    @Before
+    public void setUp() {
+        timing = new NavigationTiming();
+        timing.reset();
+    }
+
+    // SystemClock.sleep only advances Robolectric's clock, so the durations are exact
+    private static void advance(long ms) {
+        SystemClock.sleep(ms);
+    }
+
+    private static Bundle reportedAt(long uptime) {
+        Bundle extras = new Bundle();
+        extras.putLong("timestampUptimeMillis", uptime);
+        return extras;
+    }
+
+    @Test
+    public void finishedNavigationsHaveADuration() {
+        advance(100);
+        NavigationTiming.Navigation started = timing.record(CustomTabsCallback.NAVIGATION_STARTED, null);
+        assertEquals(NavigationTiming.Type.STARTED, started.type);
+        assertEquals(1, started.index);
+        assertEquals(100, started.sinceOpen);
+        assertEquals(-1, started.duration);
+
+        advance(250);
+        NavigationTiming.Navigation finished = timing.record(CustomTabsCallback.NAVIGATION_FINISHED, null);
+        assertEquals(NavigationTiming.Type.FINISHED, finished.type);
+        assertEquals(1, finished.index);
+        assertEquals(350, finished.sinceOpen);
+        assertEquals(250, finished.duration);
+        assertNull(finished.online);
+    }
+
+    @Test
+    public void navigationsAreCounted() {
+        timing.record(CustomTabsCallback.NAVIGATION_STARTED, null);
+        timing.record(CustomTabsCallback.NAVIGATION_ABORTED, null);
+        assertEquals(2, timing.record(CustomTabsCallback.NAVIGATION_STARTED, null).index);
+        assertEquals(2, timing.record(CustomTabsCallback.NAVIGATION_FINISHED, null).index);
+
+        timing.reset();
+        assertEquals(1, timing.record(CustomTabsCallback.NAVIGATION_STARTED, null).index);
+    }
+
+    @Test
+    public void endWithoutAStartHasNoDuration() {
+        timing.record(CustomTabsCallback.NAVIGATION_STARTED, null);
+        timing.record(CustomTabsCallback.NAVIGATION_FINISHED, null);
+
+        assertEquals(-1, timing.record(CustomTabsCallback.NAVIGATION_FINISHED, null).duration);
+    }
+
+    @Test
+    public void failedNavigationsReportWhetherTheDeviceWasOnline() {
+        Bundle extras = new Bundle();
+        extras.putBoolean(CustomTabsCallback.ONLINE_EXTRAS_KEY, false);
+
+        timing.record(CustomTabsCallback.NAVIGATION_STARTED, null);
+        NavigationTiming.Navigation failed = timing.record(CustomTabsCallback.NAVIGATION_FAILED, extras);
+        assertEquals(NavigationTiming.Type.FAILED, failed.type);
+        assertEquals(Boolean.FALSE, failed.online);
+
+        assertNull(timing.record(CustomTabsCallback.NAVIGATION_FAILED, null).online);
+    }
+
+    @Test
+    public void browserTimestampIsPreferred() {
+        advance(100);
+        timing.record(CustomTabsCallback.NAVIGATION_STARTED, null);
+        advance(500);
+
+        NavigationTiming.Navigation finished = timing.record(
+            CustomTabsCallback.NAVIGATION_FINISHED,
+            reportedAt(SystemClock.uptimeMillis() - 200)
+        );
+        assertEquals(300, finished.duration);
+        assertEquals(400, finished.sinceOpen);
+    }
+
+    @Test
+    public void browserTimestampInTheFutureIsIgnored() {
+        timing.record(CustomTabsCallback.NAVIGATION_STARTED, null);
+        advance(500);
+
+        NavigationTiming.Navigation finished = timing.record(
+            CustomTabsCallback.NAVIGATION_FINISHED,
+            reportedAt(SystemClock.uptimeMillis() + 1000)
+        );
+        assertEquals(500, finished.duration);
+    }
+
+    @Test
+    public void otherEventsAreNotNavigations() {
+        assertNull(timing.record(CustomTabsCallback.TAB_SHOWN, null));
+        assertNull(timing.record(CustomTabsCallback.TAB_HIDDEN, null));
+    }
+
+    @Test
+    public void timeSinceOpenIsUnknownBeforeReset() {
+        NavigationTiming fresh = new NavigationTiming();
+
+        assertEquals(-1, fresh.record(CustomTabsCallback.NAVIGATION_STARTED, null).sinceOpen);
+    }
+}
@@ -7,10 +7,16 @@ public class CAPBrowserPlugin: CAPPlugin, CAPBridgedPlugin {
     public let jsName = "Browser"
     public let pluginMethods: [CAPPluginMethod] = [
         CAPPluginMethod(name: "open", returnType: CAPPluginReturnPromise),
-        CAPPluginMethod(name: "close", returnType: CAPPluginReturnPromise)
+        CAPPluginMethod(name: "close", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "prefetch", returnType: CAPPluginReturnPromise)
     ]
     private let implementation = Browser()
 
+    @objc func prefetch(_ call: CAPPluginCall) {
+        // SFSafariViewController has no API to preconnect to likely URLs
+        call.resolve()
+    }
+
     @objc func open(_ call: CAPPluginCall) {
         // validate the URL
         guard let urlString = call.getString("url"), let url = URL(string: urlString) else {
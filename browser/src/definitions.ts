@@ -17,6 +17,19 @@ export interface BrowserPlugin {
    */
   close(): Promise<void>;
 
+  /**
+   * Android only: Tell the browser which URLs are likely to be opened next.
+   *
+   * The browser warms up and preconnects to the URLs, and may prerender the
+   * most likely one, so a later `open` shows the page faster. The hints
+   * replace the previous ones and stay active until they are replaced.
+   *
+   * No-op on other platforms.
+   *
+   * @since 8.1.0
+   */
+  prefetch(options: PrefetchOptions): Promise<void>;
+
   /**
    * Android & iOS only: Listen for the browser finished event.
    * It fires when the Browser is closed by the user.
@@ -34,6 +47,32 @@ export interface BrowserPlugin {
    */
   addListener(eventName: 'browserPageLoaded', listenerFunc: () => void): Promise<PluginListenerHandle>;
 
+  /**
+   * Android only: Listen for the timing of every navigation in the browser.
+   *
+   * It fires when a navigation starts, finishes, fails or is aborted, so
+   * the time it takes to load a page can be measured.
+   *
+   * @since 8.1.0
+   */
+  addListener(
+    eventName: 'browserNavigation',
+    listenerFunc: (event: BrowserNavigationEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Android only: Listen for engagement signals, such as scrolling, from the
+   * browser.
+   *
+   * Only fired by browsers that support the engagement signals API.
+   *
+   * @since 8.1.0
+   */
+  addListener(
+    eventName: 'browserEngagement',
+    listenerFunc: (event: BrowserEngagementEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Remove all native listeners for this plugin.
    *
@@ -101,6 +140,125 @@ export interface OpenOptions {
   height?: number;
 }
 
+/**
+ * Represents the options passed to `prefetch`.
+ *
+ * @since 8.1.0
+ */
+export interface PrefetchOptions {
+  /**
+   * The URLs that are likely to be opened. Pass an empty list to clear the
+   * previous hints.
+   *
+   * @since 8.1.0
+   */
+  urls: PrefetchUrl[];
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface PrefetchUrl {
+  /**
+   * The URL that is likely to be opened.
+   *
+   * @since 8.1.0
+   */
+  url: string;
+
+  /**
+   * How likely the URL is to be opened, higher first. URLs with the same
+   * priority keep their order.
+   *
+   * @since 8.1.0
+   * @default 0
+   */
+  priority?: number;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface BrowserNavigationEvent {
+  /**
+   * What happened to the navigation.
+   *
+   * @since 8.1.0
+   */
+  type: 'started' | 'finished' | 'failed' | 'aborted';
+
+  /**
+   * Counts the navigations since the browser was opened, starting at 1.
+   *
+   * @since 8.1.0
+   */
+  index: number;
+
+  /**
+   * When the event happened, in milliseconds since the epoch.
+   *
+   * @since 8.1.0
+   */
+  timestamp: number;
+
+  /**
+   * Milliseconds since the browser was opened.
+   *
+   * @since 8.1.0
+   */
+  sinceOpen?: number;
+
+  /**
+   * Milliseconds since the navigation started. Not set on `started` events.
+   *
+   * @since 8.1.0
+   */
+  duration?: number;
+
+  /**
+   * Whether the device was online when the navigation failed. Only set on
+   * `failed` events, when reported by the browser.
+   *
+   * @since 8.1.0
+   */
+  online?: boolean;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface BrowserEngagementEvent {
+  /**
+   * The kind of engagement signal.
+   *
+   * @since 8.1.0
+   */
+  type: 'verticalScroll' | 'scrollPercentage' | 'sessionEnded';
+
+  /**
+   * Whether the user scrolled up. Only set on `verticalScroll` events.
+   *
+   * @since 8.1.0
+   */
+  isDirectionUp?: boolean;
+
+  /**
+   * The greatest percentage of the page the user scrolled to. Only set on
+   * `scrollPercentage` events.
+   *
+   * @since 8.1.0
+   */
+  scrollPercentage?: number;
+
+  /**
+   * Whether the user interacted with the page. Only set on `sessionEnded`
+   * events.
+   *
+   * @since 8.1.0
+   */
+  didUserInteract?: boolean;
+}
+
 /**
  * @deprecated Use `OpenOptions`.
  * @since 1.0.0
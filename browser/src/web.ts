@@ -1,6 +1,6 @@
 import { WebPlugin } from '@capacitor/core';
 
-import type { BrowserPlugin, OpenOptions } from './definitions';
+import type { BrowserPlugin, OpenOptions, PrefetchOptions } from './definitions';
 
 export class BrowserWeb extends WebPlugin implements BrowserPlugin {
   _lastWindow: Window | null;
@@ -25,6 +25,10 @@ export class BrowserWeb extends WebPlugin implements BrowserPlugin {
       }
     });
   }
+
+  async prefetch(_options: PrefetchOptions): Promise<void> {
+    return undefined;
+  }
 }
 
 const Browser = new BrowserWeb();
@@ -4,18 +4,44 @@ import android.content.ClipData;
 import android.content.ClipDescription;
 import android.content.ClipboardManager;
 import android.content.Context;
+import android.net.Uri;
+import android.os.Build;
 import com.getcapacitor.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class Clipboard {
 
+    /**
+     * Interface for callbacks when the content of the clipboard changes.
+     */
+    interface ClipboardChangeListener {
+        void onClipboardChanged(String type);
+    }
+
     private static final String TAG = "Clipboard";
 
+    // FNV-1a, hashes the clip without copying its text
+    private static final long HASH_OFFSET = 0xcbf29ce484222325L;
+    private static final long HASH_PRIME = 0x100000001b3L;
+
     private Context context;
     private ClipboardManager clipboard;
+    private ClipboardFiles files;
+
+    private ExecutorService watchExecutor;
+    private ClipboardManager.OnPrimaryClipChangedListener clipChangedListener;
+    // Only accessed on the watch executor
+    private Long lastClipHash;
+    // Since Android 10 the clipboard reads as empty while the app doesn't have the window focus
+    private volatile boolean hasWindowFocus = true;
 
     public Clipboard(Context context) {
         this.context = context;
         this.clipboard = (ClipboardManager) context.getSystemService(Context.CLIPBOARD_SERVICE);
+        this.files = new ClipboardFiles(context);
     }
 
     /**
@@ -29,14 +55,7 @@ public class Clipboard {
         ClipData data = ClipData.newPlainText(label, content);
 
         if (data != null && clipboard != null) {
-            try {
-                clipboard.setPrimaryClip(data);
-            } catch (Exception e) {
-                Logger.error(TAG, e);
-                return new ClipboardWriteResponse(false, "Writing to the clipboard failed");
-            }
-
-            return new ClipboardWriteResponse(true);
+            return setPrimaryClip(data);
         } else if (clipboard == null) {
             return new ClipboardWriteResponse(false, "Problem getting a reference to the system clipboard");
         } else {
@@ -44,35 +63,117 @@ public class Clipboard {
         }
     }
 
+    /**
+     * Writes HTML to the clipboard, with a plain text version for apps that can't paste HTML.
+     *
+     * @param label User-visible label for the clip data.
+     * @param text The plain text version of the content.
+     * @param html The HTML content.
+     * @return A response indicating the success status of the write request.
+     */
+    public ClipboardWriteResponse writeHtml(String label, String text, String html) {
+        return setPrimaryClip(ClipData.newHtmlText(label, text, html));
+    }
+
+    /**
+     * Writes a reference to a file or content URL to the clipboard, so the content itself is
+     * never loaded into memory. Apps pasting it read the content from the URI.
+     *
+     * @param label User-visible label for the clip data.
+     * @param url A file URL in a location shared by the app's FileProvider, or a content URL.
+     * @return A response indicating the success status of the write request.
+     */
+    public ClipboardWriteResponse writeUri(String label, String url) {
+        Uri uri;
+        try {
+            uri = files.getShareableUri(url);
+        } catch (IOException e) {
+            return new ClipboardWriteResponse(false, e.getMessage());
+        }
+        return setPrimaryClip(ClipData.newUri(context.getContentResolver(), label, uri));
+    }
+
+    private ClipboardWriteResponse setPrimaryClip(ClipData data) {
+        if (clipboard == null) {
+            return new ClipboardWriteResponse(false, "Problem getting a reference to the system clipboard");
+        }
+        try {
+            clipboard.setPrimaryClip(data);
+        } catch (Exception e) {
+            Logger.error(TAG, e);
+            return new ClipboardWriteResponse(false, "Writing to the clipboard failed");
+        }
+        return new ClipboardWriteResponse(true);
+    }
+
     /**
      * Reads data from the clipboard.
      * @return Data from the clipboard or null if no reference to the system clipboard.
      */
     public ClipboardData read() {
+        try {
+            return read(false);
+        } catch (IOException e) {
+            // Nothing is written to files when reading as text
+            return null;
+        }
+    }
+
+    /**
+     * Reads data from the clipboard.
+     * @param toFile Whether content URIs and data URLs are streamed to a cache file, instead of
+     *               being returned as a string.
+     * @return Data from the clipboard or null if no reference to the system clipboard.
+     */
+    public ClipboardData read(boolean toFile) throws IOException {
         if (clipboard != null) {
             CharSequence value = null;
+            ClipboardData clipboardData = new ClipboardData();
+            String type = "text/plain";
 
             if (clipboard.hasPrimaryClip()) {
-                if (clipboard.getPrimaryClipDescription().hasMimeType(ClipDescription.MIMETYPE_TEXT_PLAIN)) {
+                ClipDescription description = clipboard.getPrimaryClipDescription();
+                ClipData.Item item = clipboard.getPrimaryClip().getItemAt(0);
+
+                if (toFile && item.getUri() != null) {
+                    String uriType = context.getContentResolver().getType(item.getUri());
+                    if (uriType == null && description.getMimeTypeCount() > 0) {
+                        uriType = description.getMimeType(0);
+                    }
+                    File file = files.copyToCache(item.getUri(), uriType);
+                    clipboardData.setValue("");
+                    clipboardData.setPath(Uri.fromFile(file).toString());
+                    clipboardData.setType(uriType != null ? uriType : "application/octet-stream");
+                    return clipboardData;
+                }
+
+                if (description.hasMimeType(ClipDescription.MIMETYPE_TEXT_PLAIN)) {
                     Logger.debug(TAG, "Got plaintxt");
-                    ClipData.Item item = clipboard.getPrimaryClip().getItemAt(0);
                     value = item.getText();
                 } else {
                     Logger.debug(TAG, "Not plaintext!");
-                    ClipData.Item item = clipboard.getPrimaryClip().getItemAt(0);
-                    value = item.coerceToText(context).toString();
+                    value = item.coerceToText(context);
                 }
-            }
 
-            ClipboardData clipboardData = new ClipboardData();
-            String type = "text/plain";
+                if (description.hasMimeType(ClipDescription.MIMETYPE_TEXT_HTML)) {
+                    clipboardData.setHtml(item.getHtmlText());
+                }
+            }
 
             if (value != null) {
-                clipboardData.setValue(value.toString());
-            }
+                // Only the header is parsed, large data URLs are not split or copied
+                String dataUrlType = ClipboardFiles.getDataUrlType(value);
+                if (dataUrlType != null) {
+                    type = dataUrlType;
+                }
 
-            if (value != null && value.toString().startsWith("data:")) {
-                type = value.toString().split(";")[0].split(":")[1];
+                if (toFile && dataUrlType != null) {
+                    File file = files.decodeToCache(value);
+                    clipboardData.setValue("");
+                    clipboardData.setPath(Uri.fromFile(file).toString());
+                } else {
+                    clipboardData.setValue(value.toString());
+                }
             }
 
             clipboardData.setType(type);
@@ -81,4 +182,138 @@ public class Clipboard {
 
         return null;
     }
+
+    /**
+     * Start listening for clipboard changes. The listener is only called when the content
+     * differs from the last seen content, the content itself is not passed and can be read
+     * when needed.
+     */
+    public synchronized void startWatching(ClipboardChangeListener listener) {
+        if (clipboard == null || clipChangedListener != null) {
+            return;
+        }
+        watchExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService executor = watchExecutor;
+        // The content present when watching starts is not a change
+        executor.execute(() -> lastClipHash = hashPrimaryClip());
+        clipChangedListener = () -> {
+            if (!executor.isShutdown()) {
+                executor.execute(() -> notifyIfChanged(listener));
+            }
+        };
+        clipboard.addPrimaryClipChangedListener(clipChangedListener);
+    }
+
+    public synchronized void stopWatching() {
+        if (clipChangedListener == null) {
+            return;
+        }
+        clipboard.removePrimaryClipChangedListener(clipChangedListener);
+        clipChangedListener = null;
+        watchExecutor.shutdown();
+        watchExecutor = null;
+    }
+
+    /**
+     * Set whether the app has the window focus, without it the clipboard can't be read.
+     */
+    public void setWindowFocus(boolean hasFocus) {
+        this.hasWindowFocus = hasFocus;
+    }
+
+    /**
+     * Compare the clipboard with the last seen content, for changes made while the app could
+     * not read the clipboard, such as while it was in the background. Only meaningful once the
+     * app has the window focus again.
+     */
+    public synchronized void checkForChange(ClipboardChangeListener listener) {
+        if (watchExecutor != null) {
+            watchExecutor.execute(() -> notifyIfChanged(listener));
+        }
+    }
+
+    private void notifyIfChanged(ClipboardChangeListener listener) {
+        ClipData clip = getPrimaryClip();
+        Long hash = hash(clip);
+        // Null while the app is not allowed to read the clipboard, checked again on focus
+        if (hash == null || hash.equals(lastClipHash)) {
+            return;
+        }
+        Long previous = lastClipHash;
+        lastClipHash = hash;
+        // Without a previous hash the content may have been there before watching started
+        if (previous != null && clip != null) {
+            listener.onClipboardChanged(getType(clip));
+        }
+    }
+
+    private ClipData getPrimaryClip() {
+        try {
+            return clipboard.getPrimaryClip();
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    private Long hashPrimaryClip() {
+        return hash(getPrimaryClip());
+    }
+
+    private Long hash(ClipData clip) {
+        if (clip == null) {
+            if (!hasWindowFocus && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                // Not an empty clipboard, the content is hidden until the app has the focus
+                return null;
+            }
+            // An empty clipboard is recorded, but not reported as a change
+            return clipboard.hasPrimaryClip() ? null : 0L;
+        }
+
+        long hash = HASH_OFFSET;
+        ClipDescription description = clip.getDescription();
+        for (int i = 0; i < description.getMimeTypeCount(); i++) {
+            hash = hash(hash, description.getMimeType(i));
+        }
+        for (int i = 0; i < clip.getItemCount(); i++) {
+            ClipData.Item item = clip.getItemAt(i);
+            hash = hash(hash, item.getText());
+            hash = hash(hash, item.getHtmlText());
+            hash = hash(hash, item.getUri() != null ? item.getUri().toString() : null);
+            hash = hash(hash, item.getIntent() != null ? item.getIntent().toUri(0) : null);
+        }
+        return hash;
+    }
+
+    private static String getType(ClipData clip) {
+        ClipDescription description = clip != null ? clip.getDescription() : null;
+        if (description == null || description.getMimeTypeCount() == 0) {
+            return ClipDescription.MIMETYPE_TEXT_PLAIN;
+        }
+        if (description.hasMimeType(ClipDescription.MIMETYPE_TEXT_PLAIN)) {
+            // Matches the type returned by read for data URLs
+            CharSequence text = clip.getItemCount() > 0 ? clip.getItemAt(0).getText() : null;
+            String dataUrlType = text != null ? ClipboardFiles.getDataUrlType(text) : null;
+            return dataUrlType != null ? dataUrlType : ClipDescription.MIMETYPE_TEXT_PLAIN;
+        }
+        return description.getMimeType(0);
+    }
+
+    private static long hash(long hash, CharSequence value) {
+        if (value == null) {
+            // Separates a missing value from an empty one
+            return (hash ^ 0xff) * HASH_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * HASH_PRIME;
+        }
+        // Field separator, so the values of adjacent fields can't be shifted into each other
+        return (hash ^ 0xfe) * HASH_PRIME;
+    }
+
+    /**
+     * Remove the files written by earlier reads.
+     */
+    public void clearFiles() {
+        files.clearCache();
+    }
 }
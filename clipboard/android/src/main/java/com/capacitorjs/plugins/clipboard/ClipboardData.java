@@ -4,6 +4,8 @@ public class ClipboardData {
 
     private String value;
     private String type;
+    private String path;
+    private String html;
 
     public ClipboardData() {}
 
@@ -27,4 +29,20 @@ public class ClipboardData {
     public void setType(String type) {
         this.type = type;
     }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+
+    public void setHtml(String html) {
+        this.html = html;
+    }
 }
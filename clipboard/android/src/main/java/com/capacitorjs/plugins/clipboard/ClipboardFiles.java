@@ -0,0 +1,137 @@
+package com.capacitorjs.plugins.clipboard;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Base64;
+import android.util.Base64InputStream;
+import android.webkit.MimeTypeMap;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.FileProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Moves clipboard content between content URIs and files in the cache directory, streaming
+ * it so large clips are never held in memory as a whole.
+ */
+class ClipboardFiles {
+
+    private static final String CACHE_DIR = "CapacitorClipboard";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Context context;
+
+    ClipboardFiles(@NonNull Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Turn a file or content URL into a URI other apps can read from the clipboard.
+     * File URLs are served through the app's FileProvider.
+     */
+    @NonNull
+    Uri getShareableUri(@NonNull String url) throws IOException {
+        Uri uri = Uri.parse(url);
+        if ("content".equals(uri.getScheme())) {
+            return uri;
+        }
+        if ("file".equals(uri.getScheme()) && uri.getPath() != null) {
+            try {
+                return FileProvider.getUriForFile(context, context.getPackageName() + ".fileprovider", new File(uri.getPath()));
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("File is not in a location shared by the FileProvider", ex);
+            }
+        }
+        throw new IOException("Only file and content URLs are supported");
+    }
+
+    /**
+     * @return the MIME type of a data URL, read from its header only
+     */
+    @Nullable
+    static String getDataUrlType(@NonNull CharSequence value) {
+        if (!isDataUrl(value)) {
+            return null;
+        }
+        int end = 5;
+        while (end < value.length() && value.charAt(end) != ';' && value.charAt(end) != ',') {
+            end++;
+        }
+        return end > 5 ? value.subSequence(5, end).toString() : null;
+    }
+
+    static boolean isDataUrl(@NonNull CharSequence value) {
+        return value.length() > 5 && value.subSequence(0, 5).toString().equals("data:");
+    }
+
+    /**
+     * Stream the content behind a URI to a new cache file.
+     */
+    @NonNull
+    File copyToCache(@NonNull Uri uri, @Nullable String type) throws IOException {
+        try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+            if (in == null) {
+                throw new IOException("Unable to open " + uri);
+            }
+            return writeToCache(in, type);
+        }
+    }
+
+    /**
+     * Decode a base64 data URL to a new cache file.
+     */
+    @NonNull
+    File decodeToCache(@NonNull CharSequence dataUrl) throws IOException {
+        int comma = 0;
+        while (comma < dataUrl.length() && dataUrl.charAt(comma) != ',') {
+            comma++;
+        }
+        if (comma == dataUrl.length() || !dataUrl.subSequence(0, comma).toString().endsWith(";base64")) {
+            throw new IOException("Only base64 data URLs are supported");
+        }
+        try (InputStream in = new Base64InputStream(new CharSequenceInputStream(dataUrl, comma + 1), Base64.DEFAULT)) {
+            return writeToCache(in, getDataUrlType(dataUrl));
+        }
+    }
+
+    /**
+     * Remove the files of earlier reads.
+     */
+    void clearCache() {
+        File[] files = getCacheDir().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private File writeToCache(InputStream in, @Nullable String type) throws IOException {
+        File dir = getCacheDir();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+
+        String extension = type != null ? MimeTypeMap.getSingleton().getExtensionFromMimeType(type) : null;
+        File file = File.createTempFile("clip-", extension != null ? "." + extension : null, dir);
+        try (OutputStream out = new FileOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException ex) {
+            file.delete();
+            throw ex;
+        }
+        return file;
+    }
+
+    private File getCacheDir() {
+        return new File(context.getCacheDir(), CACHE_DIR);
+    }
+}
@@ -1,19 +1,53 @@
 package com.capacitorjs.plugins.clipboard;
 
+import android.text.Html;
+import android.view.ViewTreeObserver;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
+import java.io.IOException;
 
 @CapacitorPlugin(name = "Clipboard")
 public class ClipboardPlugin extends Plugin {
 
+    private static final String EVENT_CLIPBOARD_CHANGE = "clipboardChange";
+
     private Clipboard implementation;
+    private ViewTreeObserver.OnWindowFocusChangeListener windowFocusListener;
 
     @Override
     public void load() {
         implementation = new Clipboard(getContext());
+        // Files of earlier reads are not referenced anymore after a restart
+        implementation.clearFiles();
+
+        // On resume the window doesn't have the focus yet, so changes are checked once it has
+        windowFocusListener = this::onWindowFocusChanged;
+        implementation.setWindowFocus(getBridge().getWebView().hasWindowFocus());
+        getBridge().getWebView().getViewTreeObserver().addOnWindowFocusChangeListener(windowFocusListener);
+    }
+
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_NONE)
+    public void addListener(PluginCall call) {
+        super.addListener(call);
+        updateWatching();
+    }
+
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_NONE)
+    public void removeListener(PluginCall call) {
+        super.removeListener(call);
+        updateWatching();
+    }
+
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_PROMISE)
+    public void removeAllListeners(PluginCall call) {
+        super.removeAllListeners(call);
+        updateWatching();
     }
 
     @PluginMethod
@@ -21,16 +55,23 @@ public class ClipboardPlugin extends Plugin {
         String strVal = call.getString("string");
         String imageVal = call.getString("image");
         String urlVal = call.getString("url");
+        String htmlVal = call.getString("html");
+        String pathVal = call.getString("path");
         String label = call.getString("label");
 
         ClipboardWriteResponse response;
 
-        if (strVal != null) {
+        if (htmlVal != null) {
+            String text = strVal != null ? strVal : Html.fromHtml(htmlVal, Html.FROM_HTML_MODE_LEGACY).toString();
+            response = implementation.writeHtml(label, text, htmlVal);
+        } else if (strVal != null) {
             response = implementation.write(label, strVal);
         } else if (imageVal != null) {
             response = implementation.write(label, imageVal);
         } else if (urlVal != null) {
             response = implementation.write(label, urlVal);
+        } else if (pathVal != null) {
+            response = implementation.writeUri(label, pathVal);
         } else {
             call.reject("No data provided");
             return;
@@ -45,7 +86,13 @@ public class ClipboardPlugin extends Plugin {
 
     @PluginMethod
     public void read(PluginCall call) {
-        ClipboardData result = implementation.read();
+        ClipboardData result;
+        try {
+            result = implementation.read(call.getBoolean("toFile", false));
+        } catch (IOException | SecurityException ex) {
+            call.reject("Unable to read the clipboard content to a file", ex);
+            return;
+        }
 
         if (result == null) {
             call.reject("Unable to read clipboard from the given Context");
@@ -55,8 +102,45 @@ public class ClipboardPlugin extends Plugin {
             JSObject resultJS = new JSObject();
             resultJS.put("value", result.getValue());
             resultJS.put("type", result.getType());
+            if (result.getPath() != null) {
+                resultJS.put("path", result.getPath());
+            }
+            if (result.getHtml() != null) {
+                resultJS.put("html", result.getHtml());
+            }
 
             call.resolve(resultJS);
         }
     }
+
+    @Override
+    protected void handleOnDestroy() {
+        getBridge().getWebView().getViewTreeObserver().removeOnWindowFocusChangeListener(windowFocusListener);
+        implementation.stopWatching();
+    }
+
+    private void onWindowFocusChanged(boolean hasFocus) {
+        implementation.setWindowFocus(hasFocus);
+        if (hasFocus && hasListeners(EVENT_CLIPBOARD_CHANGE)) {
+            implementation.checkForChange(this::onClipboardChanged);
+        }
+    }
+
+    /**
+     * Watching reads the clipboard on every change, which Android may report to the user, so
+     * it only runs while there are listeners.
+     */
+    private void updateWatching() {
+        if (hasListeners(EVENT_CLIPBOARD_CHANGE)) {
+            implementation.startWatching(this::onClipboardChanged);
+        } else {
+            implementation.stopWatching();
+        }
+    }
+
+    private void onClipboardChanged(String type) {
+        JSObject ret = new JSObject();
+        ret.put("type", type);
+        notifyListeners(EVENT_CLIPBOARD_CHANGE, ret);
+    }
 }
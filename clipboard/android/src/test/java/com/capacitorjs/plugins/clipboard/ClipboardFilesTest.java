@@ -0,0 +1,36 @@
+package com.capacitorjs.plugins.clipboard;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ClipboardFilesTest {
+
+    @Test
+    public void dataUrlsAreRecognizedByTheirScheme() {
+        assertTrue(ClipboardFiles.isDataUrl("data:image/png;base64,iVBORw0KGgo="));
+        assertTrue(ClipboardFiles.isDataUrl(new StringBuilder("data:,text")));
+        assertFalse(ClipboardFiles.isDataUrl("data:"));
+        assertFalse(ClipboardFiles.isDataUrl("file:///data/image.png"));
+        assertFalse(ClipboardFiles.isDataUrl("DATA"));
+    }
+
+    @Test
+    public void typeIsReadFromTheHeader() {
+        assertEquals("image/png", ClipboardFiles.getDataUrlType("data:image/png;base64,iVBORw0KGgo="));
+        assertEquals("text/plain", ClipboardFiles.getDataUrlType("data:text/plain,hello"));
+        assertEquals("text/html", ClipboardFiles.getDataUrlType("data:text/html;charset=utf-8;base64,PGI+"));
+    }
+
+    @Test
+    public void missingTypeIsNull() {
+        assertNull(ClipboardFiles.getDataUrlType("data:,hello"));
+        assertNull(ClipboardFiles.getDataUrlType("data:;base64,aGk="));
+        assertNull(ClipboardFiles.getDataUrlType("https://example.com/image.png"));
+    }
+
+    @Test
+    public void headerWithoutPayloadStillHasAType() {
+        assertEquals("image/png", ClipboardFiles.getDataUrlType("data:image/png"));
+    }
+}
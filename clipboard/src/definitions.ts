@@ -1,3 +1,5 @@
+import type { PluginListenerHandle } from '@capacitor/core';
+
 export interface ClipboardPlugin {
   /**
    * Write a value to the clipboard (the "copy" action)
@@ -11,7 +13,29 @@ export interface ClipboardPlugin {
    *
    * @since 1.0.0
    */
-  read(): Promise<ReadResult>;
+  read(options?: ReadOptions): Promise<ReadResult>;
+
+  /**
+   * Android only: Listen for changes of the clipboard content.
+   *
+   * It only fires when the content differs from the last seen content, and
+   * includes the type of the new content but not the content itself, which
+   * can be read with `read` when needed. Changes made while the app was in
+   * the background are reported when it resumes.
+   *
+   * @since 8.1.0
+   */
+  addListener(
+    eventName: 'clipboardChange',
+    listenerFunc: (event: ClipboardChangeEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Remove all native listeners for this plugin.
+   *
+   * @since 8.1.0
+   */
+  removeAllListeners(): Promise<void>;
 }
 
 /**
@@ -41,6 +65,26 @@ export interface WriteOptions {
    */
   url?: string;
 
+  /**
+   * Android only: HTML to copy. `string` is used as the plain text version
+   * for apps that can't paste HTML, when not set the text is derived from
+   * the HTML.
+   *
+   * @since 8.1.0
+   */
+  html?: string;
+
+  /**
+   * Android only: File or content URL of the content to copy, such as an
+   * image. The content is not loaded, apps pasting it read it from the URL.
+   *
+   * File URLs must be in a location shared by the app's FileProvider, by
+   * default the cache directory.
+   *
+   * @since 8.1.0
+   */
+  path?: string;
+
   /**
    * User visible label to accompany the copied data (Android Only).
    *
@@ -49,6 +93,23 @@ export interface WriteOptions {
   label?: string;
 }
 
+/**
+ * @since 8.1.0
+ */
+export interface ReadOptions {
+  /**
+   * Android only: Stream content URIs, such as copied images, and data URLs
+   * to a file in the cache directory and return its URL in `path`, instead
+   * of returning the content in `value`.
+   *
+   * The files are removed when the app restarts.
+   *
+   * @since 8.1.0
+   * @default false
+   */
+  toFile?: boolean;
+}
+
 /**
  * Represents the data read from the clipboard.
  *
@@ -68,6 +129,34 @@ export interface ReadResult {
    * @since 1.0.0
    */
   type: string;
+
+  /**
+   * Android only: File URL of the cache file the content was written to,
+   * when reading with `toFile`. `value` is empty then.
+   *
+   * @since 8.1.0
+   */
+  path?: string;
+
+  /**
+   * Android only: The HTML version of the data, when the clipboard holds
+   * HTML.
+   *
+   * @since 8.1.0
+   */
+  html?: string;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface ClipboardChangeEvent {
+  /**
+   * Type of the new data in the clipboard.
+   *
+   * @since 8.1.0
+   */
+  type: string;
 }
 
 /**
@@ -1,6 +1,6 @@
 import { WebPlugin } from '@capacitor/core';
 
-import type { ClipboardPlugin, ReadResult, WriteOptions } from './definitions';
+import type { ClipboardPlugin, ReadOptions, ReadResult, WriteOptions } from './definitions';
 
 declare global {
   interface Clipboard {
@@ -38,7 +38,7 @@ export class ClipboardWeb extends WebPlugin implements ClipboardPlugin {
     }
   }
 
-  async read(): Promise<ReadResult> {
+  async read(_options?: ReadOptions): Promise<ReadResult> {
     if (typeof navigator === 'undefined' || !navigator.clipboard) {
       throw this.unavailable('Clipboard API not available in this browser');
     }
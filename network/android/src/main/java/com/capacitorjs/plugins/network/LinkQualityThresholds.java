@@ -0,0 +1,105 @@
+package com.capacitorjs.plugins.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks which band of the configured thresholds each link quality metric is in and reports
+ * the metrics that moved to a different band.
+ */
+class LinkQualityThresholds {
+
+    public enum Metric {
+        DOWNSTREAM_BANDWIDTH("downstreamBandwidthKbps"),
+        UPSTREAM_BANDWIDTH("upstreamBandwidthKbps"),
+        SIGNAL_STRENGTH("signalStrength"),
+        METERED("metered");
+
+        private String metric;
+
+        Metric(String metric) {
+            this.metric = metric;
+        }
+
+        public String getMetric() {
+            return this.metric;
+        }
+    }
+
+    private static final int BAND_UNKNOWN = -1;
+
+    private final Map<Metric, int[]> thresholds = new EnumMap<>(Metric.class);
+    private final Map<Metric, Integer> bands = new EnumMap<>(Metric.class);
+
+    /**
+     * Watch a numeric metric, the thresholds do not need to be sorted.
+     */
+    void setThresholds(Metric metric, int[] values) {
+        int[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        thresholds.put(metric, sorted);
+    }
+
+    /**
+     * Watch a boolean metric, every change of its value is reported.
+     */
+    void watch(Metric metric) {
+        thresholds.put(metric, new int[] { 1 });
+    }
+
+    boolean isEmpty() {
+        return thresholds.isEmpty();
+    }
+
+    /**
+     * Record the bands of the given status without reporting anything.
+     */
+    void reset(NetworkStatus status) {
+        bands.clear();
+        evaluate(status);
+    }
+
+    /**
+     * @return the watched metrics whose band changed since the last evaluation
+     */
+    List<Metric> evaluate(NetworkStatus status) {
+        List<Metric> crossed = new ArrayList<>();
+        for (Map.Entry<Metric, int[]> entry : thresholds.entrySet()) {
+            int band = band(entry.getValue(), valueOf(entry.getKey(), status));
+            Integer previous = bands.put(entry.getKey(), band);
+            if (previous != null && previous != band) {
+                crossed.add(entry.getKey());
+            }
+        }
+        return crossed;
+    }
+
+    private static long valueOf(Metric metric, NetworkStatus status) {
+        switch (metric) {
+            case DOWNSTREAM_BANDWIDTH:
+                return status.downstreamBandwidthKbps;
+            case UPSTREAM_BANDWIDTH:
+                return status.upstreamBandwidthKbps;
+            case SIGNAL_STRENGTH:
+                return status.signalStrength;
+            case METERED:
+                return status.metered ? 1 : 0;
+            default:
+                return 0;
+        }
+    }
+
+    private static int band(int[] sorted, long value) {
+        if (value == NetworkStatus.SIGNAL_STRENGTH_UNSPECIFIED) {
+            return BAND_UNKNOWN;
+        }
+        int band = 0;
+        while (band < sorted.length && value >= sorted[band]) {
+            band++;
+        }
+        return band;
+    }
+}
@@ -5,6 +5,7 @@ import android.content.Context;
 import android.net.ConnectivityManager;
 import android.net.ConnectivityManager.NetworkCallback;
 import android.net.NetworkCapabilities;
+import android.os.Build;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -19,16 +20,37 @@ public class Network {
 
     class ConnectivityCallback extends NetworkCallback {
 
+        @Override
+        public void onAvailable(@NonNull android.net.Network network) {
+            super.onAvailable(network);
+            // The capabilities of the new default network follow in onCapabilitiesChanged
+            defaultNetwork = network;
+        }
+
         @Override
         public void onLost(@NonNull android.net.Network network) {
             super.onLost(network);
-            statusChangeListener.onNetworkStatusChanged(true);
+            if (defaultNetwork != null && !defaultNetwork.equals(network)) {
+                // A previous default network went away after the switch was reported
+                return;
+            }
+            defaultNetwork = null;
+            snapshot = new NetworkStatus();
+            NetworkStatusChangeListener listener = statusChangeListener;
+            if (listener != null) {
+                listener.onNetworkStatusChanged(true);
+            }
         }
 
         @Override
         public void onCapabilitiesChanged(@NonNull android.net.Network network, @NonNull NetworkCapabilities networkCapabilities) {
             super.onCapabilitiesChanged(network, networkCapabilities);
-            statusChangeListener.onNetworkStatusChanged(false);
+            defaultNetwork = network;
+            snapshot = parseNetworkCapabilities(networkCapabilities);
+            NetworkStatusChangeListener listener = statusChangeListener;
+            if (listener != null) {
+                listener.onNetworkStatusChanged(false);
+            }
         }
     }
 
@@ -40,6 +62,15 @@ public class Network {
     private ConnectivityManager connectivityManager;
     private BroadcastReceiver receiver;
 
+    // Maintained by the callback while monitoring, null when the next read has to query the system
+    @Nullable
+    private volatile NetworkStatus snapshot;
+
+    @Nullable
+    private volatile android.net.Network defaultNetwork;
+
+    private volatile boolean monitoring;
+
     /**
      * Create network monitoring object.
      * @param context
@@ -69,26 +100,68 @@ public class Network {
 
     /**
      * Get the current network information.
+     *
+     * While monitoring, the status is served from the snapshot kept up to date by the network
+     * callback. The returned object is shared and must not be modified.
      * @return NetworkStatus
      */
     public NetworkStatus getNetworkStatus() {
-        NetworkStatus networkStatus = new NetworkStatus();
+        NetworkStatus current = snapshot;
+        if (monitoring && current != null) {
+            return current;
+        }
+        return queryNetworkStatus();
+    }
+
+    private NetworkStatus queryNetworkStatus() {
         if (this.connectivityManager != null) {
             android.net.Network activeNetwork = this.connectivityManager.getActiveNetwork();
-            NetworkCapabilities capabilities = this.connectivityManager.getNetworkCapabilities(this.connectivityManager.getActiveNetwork());
-            if (activeNetwork != null && capabilities != null) {
-                networkStatus.connected =
-                    capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED) &&
-                    capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
-                if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
-                    networkStatus.connectionType = NetworkStatus.ConnectionType.WIFI;
-                } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
-                    networkStatus.connectionType = NetworkStatus.ConnectionType.CELLULAR;
-                } else {
-                    networkStatus.connectionType = NetworkStatus.ConnectionType.UNKNOWN;
+            if (activeNetwork != null) {
+                NetworkCapabilities capabilities = this.connectivityManager.getNetworkCapabilities(activeNetwork);
+                if (capabilities != null) {
+                    return parseNetworkCapabilities(capabilities);
                 }
             }
         }
+        return new NetworkStatus();
+    }
+
+    static NetworkStatus parseNetworkCapabilities(@NonNull NetworkCapabilities capabilities) {
+        NetworkStatus networkStatus = new NetworkStatus();
+        networkStatus.connected =
+            capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED) &&
+            capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            networkStatus.connectionType = NetworkStatus.ConnectionType.WIFI;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            networkStatus.connectionType = NetworkStatus.ConnectionType.CELLULAR;
+        } else {
+            networkStatus.connectionType = NetworkStatus.ConnectionType.UNKNOWN;
+        }
+
+        networkStatus.downstreamBandwidthKbps = capabilities.getLinkDownstreamBandwidthKbps();
+        networkStatus.upstreamBandwidthKbps = capabilities.getLinkUpstreamBandwidthKbps();
+        networkStatus.metered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+        networkStatus.validated = capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED);
+        networkStatus.captivePortal = capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_CAPTIVE_PORTAL);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            networkStatus.signalStrength = capabilities.getSignalStrength();
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            networkStatus.transports.add(NetworkStatus.Transport.WIFI);
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            networkStatus.transports.add(NetworkStatus.Transport.CELLULAR);
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+            networkStatus.transports.add(NetworkStatus.Transport.ETHERNET);
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN)) {
+            networkStatus.transports.add(NetworkStatus.Transport.VPN);
+        }
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_BLUETOOTH)) {
+            networkStatus.transports.add(NetworkStatus.Transport.BLUETOOTH);
+        }
         return networkStatus;
     }
 
@@ -112,6 +185,9 @@ public class Network {
      * Register a network callback.
      */
     public void startMonitoring() {
+        snapshot = null;
+        defaultNetwork = null;
+        monitoring = true;
         connectivityManager.registerDefaultNetworkCallback(connectivityCallback);
     }
 
@@ -119,6 +195,8 @@ public class Network {
      * Unregister the network callback.
      */
     public void stopMonitoring() {
+        monitoring = false;
+        snapshot = null;
         connectivityManager.unregisterNetworkCallback(connectivityCallback);
     }
 }
@@ -1,37 +1,66 @@
 package com.capacitorjs.plugins.network;
 
-import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
+import androidx.annotation.Nullable;
+import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import org.json.JSONException;
 
 @CapacitorPlugin(name = "Network")
 public class NetworkPlugin extends Plugin {
 
     private Network implementation;
     public static final String NETWORK_CHANGE_EVENT = "networkStatusChange";
+    public static final String NETWORK_QUALITY_CHANGE_EVENT = "networkQualityChange";
+    public static final String NETWORK_PROBE_EVENT = "networkProbe";
+    public static final String NETWORKS_CHANGE_EVENT = "networksChange";
     private NetworkStatus prePauseNetworkStatus = null;
 
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable statusChangeRunnable = this::emitPendingStatusChange;
+    private int statusChangeDebounce;
+    private volatile boolean pendingLostEvent;
+    private NetworkStatus lastNotifiedStatus;
+    private volatile LinkQualityThresholds qualityThresholds;
+
+    private NetworkProbe probe;
+    private long probeInterval;
+    private boolean probeActive;
+
+    private NetworkTracker tracker;
+    private final Runnable networksChangeRunnable = this::emitNetworksChange;
+    private volatile boolean trackingActive;
+
     /**
      * Monitor for network status changes and fire our event.
      */
     @Override
     public void load() {
+        statusChangeDebounce = Math.max(0, getConfig().getInt("statusChangeDebounce", 0));
         implementation = new Network(getContext());
+        lastNotifiedStatus = implementation.getNetworkStatus();
         Network.NetworkStatusChangeListener listener = (wasLostEvent) -> {
-            if (wasLostEvent) {
-                JSObject jsObject = new JSObject();
-                jsObject.put("connected", false);
-                jsObject.put("connectionType", "none");
-                notifyListeners(NETWORK_CHANGE_EVENT, jsObject);
-            } else {
-                updateNetworkStatus();
-            }
+            // Capability changes arrive in bursts, only the last one within the window is evaluated
+            pendingLostEvent = wasLostEvent;
+            handler.removeCallbacks(statusChangeRunnable);
+            handler.postDelayed(statusChangeRunnable, statusChangeDebounce);
         };
         implementation.setStatusChangeListener(listener);
+
+        tracker = new NetworkTracker(getContext());
+        tracker.setListener(() -> {
+            handler.removeCallbacks(networksChangeRunnable);
+            handler.postDelayed(networksChangeRunnable, statusChangeDebounce);
+        });
     }
 
     /**
@@ -40,6 +69,16 @@ public class NetworkPlugin extends Plugin {
     @Override
     protected void handleOnDestroy() {
         implementation.setStatusChangeListener(null);
+        handler.removeCallbacks(statusChangeRunnable);
+        handler.removeCallbacks(networksChangeRunnable);
+        tracker.setListener(null);
+        tracker.stop();
+        synchronized (this) {
+            if (probe != null) {
+                probe.shutdown();
+                probe = null;
+            }
+        }
     }
 
     /**
@@ -48,7 +87,227 @@ public class NetworkPlugin extends Plugin {
      */
     @PluginMethod
     public void getStatus(PluginCall call) {
-        call.resolve(parseNetworkStatus(implementation.getNetworkStatus()));
+        JSObject status = parseNetworkStatus(implementation.getNetworkStatus());
+        synchronized (this) {
+            if (probe != null) {
+                NetworkProbe.Estimate estimate = probe.getEstimate();
+                if (estimate.samples > 0) {
+                    status.put("probe", parseProbeEstimate(estimate));
+                }
+            }
+        }
+        call.resolve(status);
+    }
+
+    /**
+     * Start measuring throughput and latency periodically.
+     * @param call
+     */
+    @PluginMethod
+    public void startProbe(PluginCall call) {
+        ProbeOptions options = getProbeOptions(call);
+        if (options == null) {
+            return;
+        }
+        synchronized (this) {
+            probeInterval = Math.max(1000, call.getLong("interval", 30000L));
+            probeActive = true;
+            getProbe(options).start(probeInterval, this::notifyProbeCompleted);
+        }
+        call.resolve();
+    }
+
+    /**
+     * Stop the periodic measurements.
+     * @param call
+     */
+    @PluginMethod
+    public void stopProbe(PluginCall call) {
+        synchronized (this) {
+            probeActive = false;
+            if (probe != null) {
+                probe.stop();
+            }
+        }
+        call.resolve();
+    }
+
+    /**
+     * Run a single measurement.
+     * @param call
+     */
+    @PluginMethod
+    public void runProbe(PluginCall call) {
+        ProbeOptions options = getProbeOptions(call);
+        if (options == null) {
+            return;
+        }
+        NetworkProbe.ProbeListener listener = (sample, estimate, error) -> {
+            if (error != null) {
+                call.reject("Probe failed", error);
+                return;
+            }
+            JSObject result = parseProbeSample(sample, estimate);
+            notifyListeners(NETWORK_PROBE_EVENT, result);
+            call.resolve(result);
+        };
+        // Submitted under the lock, so the probe can't be shut down in between
+        synchronized (this) {
+            if (probe == null || !probeActive || probe.matches(options.url, options.timeout, options.maxBytes, options.smoothing)) {
+                getProbe(options).runAsync(listener);
+            } else {
+                // Other options must not replace the probe that startProbe is running
+                new NetworkProbe(options.url, options.timeout, options.maxBytes, options.smoothing).runOnce(listener);
+            }
+        }
+    }
+
+    /**
+     * Start tracking all networks with internet access.
+     * @param call
+     */
+    @PluginMethod
+    public void startTrackingNetworks(PluginCall call) {
+        trackingActive = true;
+        tracker.start();
+        call.resolve();
+    }
+
+    /**
+     * Stop tracking all networks.
+     * @param call
+     */
+    @PluginMethod
+    public void stopTrackingNetworks(PluginCall call) {
+        trackingActive = false;
+        tracker.stop();
+        call.resolve();
+    }
+
+    /**
+     * Get the tracked networks.
+     * @param call
+     */
+    @PluginMethod
+    public void getNetworks(PluginCall call) {
+        if (!tracker.isTracking()) {
+            call.reject("Network tracking is not started");
+            return;
+        }
+        call.resolve(parseNetworks());
+    }
+
+    private void emitNetworksChange() {
+        if (tracker.isTracking()) {
+            notifyListeners(NETWORKS_CHANGE_EVENT, parseNetworks());
+        }
+    }
+
+    private JSObject parseNetworks() {
+        JSArray networks = new JSArray();
+        for (NetworkTracker.TrackedNetwork network : tracker.getNetworks()) {
+            JSObject jsObject = parseNetworkStatus(network.status);
+            jsObject.put("id", network.getId());
+            jsObject.put("isDefault", network.isDefault);
+            networks.put(jsObject);
+        }
+        JSObject result = new JSObject();
+        result.put("networks", networks);
+        return result;
+    }
+
+    /**
+     * Read the endpoint and measurement options of the call, rejecting it if they are invalid.
+     */
+    @Nullable
+    private ProbeOptions getProbeOptions(PluginCall call) {
+        String url = call.getString("url");
+        if (url == null) {
+            call.reject("Must provide a url");
+            return null;
+        }
+
+        ProbeOptions options = new ProbeOptions();
+        try {
+            options.url = new URL(url);
+        } catch (MalformedURLException ex) {
+            call.reject("Invalid url", ex);
+            return null;
+        }
+        options.timeout = call.getInt("timeout", 10000);
+        options.maxBytes = call.getLong("maxBytes", 256 * 1024L);
+        options.smoothing = call.getDouble("smoothing", 0.3);
+        return options;
+    }
+
+    /**
+     * Return the probe for the options, the estimate is kept as long as the endpoint and the
+     * measurement options stay the same. Must be called while holding the plugin lock.
+     */
+    private NetworkProbe getProbe(ProbeOptions options) {
+        if (probe != null && !probe.matches(options.url, options.timeout, options.maxBytes, options.smoothing)) {
+            probe.shutdown();
+            probe = null;
+            probeActive = false;
+        }
+        if (probe == null) {
+            probe = new NetworkProbe(options.url, options.timeout, options.maxBytes, options.smoothing);
+        }
+        return probe;
+    }
+
+    private void notifyProbeCompleted(NetworkProbe.Sample sample, NetworkProbe.Estimate estimate, Exception error) {
+        if (error != null) {
+            Log.d("Capacitor/NetworkPlugin", "Network probe failed: " + error.getMessage());
+            return;
+        }
+        notifyListeners(NETWORK_PROBE_EVENT, parseProbeSample(sample, estimate));
+    }
+
+    /**
+     * Configure the thresholds that fire the quality change event.
+     * @param call
+     */
+    @PluginMethod
+    public void setQualityThresholds(PluginCall call) {
+        LinkQualityThresholds thresholds = new LinkQualityThresholds();
+        try {
+            putThresholds(
+                thresholds,
+                LinkQualityThresholds.Metric.DOWNSTREAM_BANDWIDTH,
+                call.getArray("downstreamBandwidthKbps")
+            );
+            putThresholds(
+                thresholds,
+                LinkQualityThresholds.Metric.UPSTREAM_BANDWIDTH,
+                call.getArray("upstreamBandwidthKbps")
+            );
+            putThresholds(thresholds, LinkQualityThresholds.Metric.SIGNAL_STRENGTH, call.getArray("signalStrength"));
+        } catch (JSONException | ClassCastException ex) {
+            call.reject("Thresholds must be arrays of numbers");
+            return;
+        }
+        if (call.getBoolean("metered", false)) {
+            thresholds.watch(LinkQualityThresholds.Metric.METERED);
+        }
+
+        // Start from the current bands so only later crossings are reported
+        thresholds.reset(implementation.getNetworkStatus());
+        qualityThresholds = thresholds.isEmpty() ? null : thresholds;
+        call.resolve();
+    }
+
+    private void putThresholds(LinkQualityThresholds thresholds, LinkQualityThresholds.Metric metric, JSArray values)
+        throws JSONException {
+        if (values == null) {
+            return;
+        }
+        List<Object> list = values.toList();
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((Number) list.get(i)).intValue();
+        }
+        thresholds.setThresholds(metric, result);
     }
 
     /**
@@ -57,6 +316,14 @@ public class NetworkPlugin extends Plugin {
     @Override
     protected void handleOnResume() {
         implementation.startMonitoring();
+        if (trackingActive) {
+            tracker.start();
+        }
+        synchronized (this) {
+            if (probe != null && probeActive) {
+                probe.start(probeInterval, this::notifyProbeCompleted);
+            }
+        }
         NetworkStatus afterPauseNetworkStatus = implementation.getNetworkStatus();
         if (
             prePauseNetworkStatus != null &&
@@ -79,16 +346,99 @@ public class NetworkPlugin extends Plugin {
     protected void handleOnPause() {
         this.prePauseNetworkStatus = implementation.getNetworkStatus();
         implementation.stopMonitoring();
+        tracker.stop();
+        synchronized (this) {
+            if (probe != null) {
+                probe.stop();
+            }
+        }
+    }
+
+    private void emitPendingStatusChange() {
+        NetworkStatus networkStatus = pendingLostEvent ? new NetworkStatus() : implementation.getNetworkStatus();
+        notifyIfChanged(networkStatus);
+        notifyIfThresholdCrossed(networkStatus);
     }
 
     private void updateNetworkStatus() {
-        notifyListeners(NETWORK_CHANGE_EVENT, parseNetworkStatus(implementation.getNetworkStatus()));
+        notifyIfChanged(implementation.getNetworkStatus());
+    }
+
+    /**
+     * Fire the change event unless the status is the same as the last one sent. Only called on
+     * the main thread.
+     */
+    private void notifyIfChanged(NetworkStatus networkStatus) {
+        if (networkStatus.hasSameConnectivity(lastNotifiedStatus)) {
+            return;
+        }
+        lastNotifiedStatus = networkStatus;
+        notifyListeners(NETWORK_CHANGE_EVENT, parseNetworkStatus(networkStatus));
+    }
+
+    private void notifyIfThresholdCrossed(NetworkStatus networkStatus) {
+        LinkQualityThresholds thresholds = qualityThresholds;
+        if (thresholds == null) {
+            return;
+        }
+        List<LinkQualityThresholds.Metric> crossed = thresholds.evaluate(networkStatus);
+        if (crossed.isEmpty()) {
+            return;
+        }
+
+        JSArray metrics = new JSArray();
+        for (LinkQualityThresholds.Metric metric : crossed) {
+            metrics.put(metric.getMetric());
+        }
+        JSObject jsObject = new JSObject();
+        jsObject.put("status", parseNetworkStatus(networkStatus));
+        jsObject.put("metrics", metrics);
+        notifyListeners(NETWORK_QUALITY_CHANGE_EVENT, jsObject);
+    }
+
+    private JSObject parseProbeSample(NetworkProbe.Sample sample, NetworkProbe.Estimate estimate) {
+        JSObject jsObject = new JSObject();
+        jsObject.put("rttMs", sample.rttMs);
+        jsObject.put("bytes", sample.bytes);
+        jsObject.put("downstreamKbps", sample.downstreamKbps);
+        jsObject.put("estimate", parseProbeEstimate(estimate));
+        return jsObject;
+    }
+
+    private JSObject parseProbeEstimate(NetworkProbe.Estimate estimate) {
+        JSObject jsObject = new JSObject();
+        jsObject.put("rttMs", estimate.rttMs);
+        jsObject.put("downstreamKbps", estimate.downstreamKbps);
+        jsObject.put("samples", estimate.samples);
+        jsObject.put("failures", estimate.failures);
+        return jsObject;
     }
 
     private JSObject parseNetworkStatus(NetworkStatus networkStatus) {
         JSObject jsObject = new JSObject();
         jsObject.put("connected", networkStatus.connected);
         jsObject.put("connectionType", networkStatus.connectionType.getConnectionType());
+        jsObject.put("downstreamBandwidthKbps", networkStatus.downstreamBandwidthKbps);
+        jsObject.put("upstreamBandwidthKbps", networkStatus.upstreamBandwidthKbps);
+        jsObject.put("metered", networkStatus.metered);
+        jsObject.put("validated", networkStatus.validated);
+        jsObject.put("captivePortal", networkStatus.captivePortal);
+        if (networkStatus.signalStrength != NetworkStatus.SIGNAL_STRENGTH_UNSPECIFIED) {
+            jsObject.put("signalStrength", networkStatus.signalStrength);
+        }
+        JSArray transports = new JSArray();
+        for (NetworkStatus.Transport transport : networkStatus.transports) {
+            transports.put(transport.getTransport());
+        }
+        jsObject.put("transports", transports);
         return jsObject;
     }
+
+    private static class ProbeOptions {
+
+        URL url;
+        int timeout;
+        long maxBytes;
+        double smoothing;
+    }
 }
@@ -0,0 +1,229 @@
+package com.capacitorjs.plugins.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round trip time and achieved download rate against an HTTP endpoint and keeps
+ * an exponentially weighted moving estimate of both.
+ *
+ * The round trip time is the time until the response headers are received, the download rate
+ * is measured over the body after the first byte arrived, so connection setup does not count
+ * against the throughput. Times are taken from {@link System#nanoTime()}, which is monotonic.
+ */
+class NetworkProbe {
+
+    /**
+     * Interface for callbacks when a probe completes.
+     */
+    interface ProbeListener {
+        void onProbeCompleted(@Nullable Sample sample, @NonNull Estimate estimate, @Nullable IOException error);
+    }
+
+    static class Sample {
+
+        long rttMs;
+        long bytes;
+        double downstreamKbps;
+    }
+
+    static class Estimate {
+
+        double rttMs;
+        double downstreamKbps;
+        int samples;
+        int failures;
+    }
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final URL url;
+    private final int timeoutMs;
+    private final long maxBytes;
+    private final double smoothing;
+
+    private final Estimate estimate = new Estimate();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * @param smoothing weight of a new sample in the moving estimate, between 0 and 1
+     */
+    NetworkProbe(@NonNull URL url, int timeoutMs, long maxBytes, double smoothing) {
+        this.url = url;
+        this.timeoutMs = timeoutMs;
+        this.maxBytes = maxBytes;
+        this.smoothing = Math.min(1, Math.max(0.01, smoothing));
+    }
+
+    boolean matches(URL url, int timeoutMs, long maxBytes, double smoothing) {
+        return (
+            this.url.toString().equals(url.toString()) &&
+            this.timeoutMs == timeoutMs &&
+            this.maxBytes == maxBytes &&
+            this.smoothing == Math.min(1, Math.max(0.01, smoothing))
+        );
+    }
+
+    /**
+     * Run a single probe on the calling thread and fold the result into the estimate.
+     */
+    Sample run() throws IOException {
+        Sample sample;
+        try {
+            sample = measure();
+        } catch (IOException ex) {
+            synchronized (estimate) {
+                estimate.failures++;
+            }
+            throw ex;
+        }
+        update(sample);
+        return sample;
+    }
+
+    /**
+     * Fold a sample into the moving estimate.
+     */
+    void update(@NonNull Sample sample) {
+        synchronized (estimate) {
+            estimate.rttMs =
+                estimate.samples == 0 ? sample.rttMs : estimate.rttMs + smoothing * (sample.rttMs - estimate.rttMs);
+            // Bodies too small to time leave the throughput estimate untouched
+            if (sample.downstreamKbps > 0) {
+                estimate.downstreamKbps =
+                    estimate.downstreamKbps == 0
+                        ? sample.downstreamKbps
+                        : estimate.downstreamKbps + smoothing * (sample.downstreamKbps - estimate.downstreamKbps);
+            }
+            estimate.samples++;
+        }
+    }
+
+    /**
+     * Run a single probe on the probe thread.
+     */
+    void runAsync(@NonNull ProbeListener listener) {
+        executor.execute(() -> runAndNotify(listener));
+    }
+
+    /**
+     * Run a single probe on the probe thread and release the thread afterwards, for probes that
+     * are only used once.
+     */
+    void runOnce(@NonNull ProbeListener listener) {
+        executor.execute(() -> {
+            try {
+                runAndNotify(listener);
+            } finally {
+                executor.shutdown();
+            }
+        });
+    }
+
+    /**
+     * Run probes periodically on the probe thread until stopped.
+     */
+    synchronized void start(long intervalMs, @NonNull ProbeListener listener) {
+        stop();
+        scheduled = executor.scheduleWithFixedDelay(() -> runAndNotify(listener), 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    synchronized boolean isRunning() {
+        return scheduled != null;
+    }
+
+    /**
+     * Stop probing and release the probe thread.
+     */
+    synchronized void shutdown() {
+        stop();
+        executor.shutdown();
+    }
+
+    /**
+     * @return a copy of the current moving estimate
+     */
+    Estimate getEstimate() {
+        synchronized (estimate) {
+            Estimate copy = new Estimate();
+            copy.rttMs = estimate.rttMs;
+            copy.downstreamKbps = estimate.downstreamKbps;
+            copy.samples = estimate.samples;
+            copy.failures = estimate.failures;
+            return copy;
+        }
+    }
+
+    private void runAndNotify(ProbeListener listener) {
+        try {
+            Sample sample = run();
+            listener.onProbeCompleted(sample, getEstimate(), null);
+        } catch (IOException ex) {
+            listener.onProbeCompleted(null, getEstimate(), ex);
+        }
+    }
+
+    private Sample measure() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(timeoutMs);
+        connection.setReadTimeout(timeoutMs);
+        connection.setUseCaches(false);
+        connection.setRequestProperty("Cache-Control", "no-cache");
+        connection.setRequestProperty("Accept-Encoding", "identity");
+
+        try {
+            long start = System.nanoTime();
+            int status = connection.getResponseCode();
+            long headers = System.nanoTime();
+            if (status < 200 || status >= 300) {
+                throw new IOException("Probe endpoint responded with status " + status);
+            }
+
+            Sample sample = new Sample();
+            sample.rttMs = TimeUnit.NANOSECONDS.toMillis(headers - start);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream in = connection.getInputStream()) {
+                // The first chunk only starts the clock, the rate is measured over the rest of the body
+                int first = in.read(buffer);
+                if (first == -1) {
+                    return sample;
+                }
+                long firstByte = System.nanoTime();
+                sample.bytes = first;
+                long timedBytes = 0;
+                while (sample.bytes < maxBytes) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, maxBytes - sample.bytes));
+                    if (read == -1) {
+                        break;
+                    }
+                    sample.bytes += read;
+                    timedBytes += read;
+                }
+                long elapsedNanos = System.nanoTime() - firstByte;
+                if (timedBytes > 0 && elapsedNanos > 0) {
+                    sample.downstreamKbps = (timedBytes * 8.0 * 1_000_000) / elapsedNanos;
+                }
+            }
+            return sample;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.capacitorjs.plugins.network;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public class NetworkStatus {
 
     public enum ConnectionType {
@@ -19,6 +22,43 @@ public class NetworkStatus {
         }
     }
 
+    public enum Transport {
+        WIFI("wifi"),
+        CELLULAR("cellular"),
+        ETHERNET("ethernet"),
+        VPN("vpn"),
+        BLUETOOTH("bluetooth");
+
+        private String transport;
+
+        Transport(String transport) {
+            this.transport = transport;
+        }
+
+        public String getTransport() {
+            return this.transport;
+        }
+    }
+
+    public static final int SIGNAL_STRENGTH_UNSPECIFIED = Integer.MIN_VALUE;
+
     public boolean connected = false;
     public ConnectionType connectionType = ConnectionType.NONE;
+
+    // Link quality, only known when the status was derived from NetworkCapabilities
+    public int downstreamBandwidthKbps = 0;
+    public int upstreamBandwidthKbps = 0;
+    public boolean metered = false;
+    public boolean validated = false;
+    public boolean captivePortal = false;
+    public int signalStrength = SIGNAL_STRENGTH_UNSPECIFIED;
+    public Set<Transport> transports = EnumSet.noneOf(Transport.class);
+
+    /**
+     * @return whether the other status has the same connected state and connection type, the
+     * fields that drive the status change event. Link quality changes are tracked separately.
+     */
+    public boolean hasSameConnectivity(NetworkStatus other) {
+        return other != null && connected == other.connected && connectionType == other.connectionType;
+    }
 }
@@ -0,0 +1,147 @@
+package com.capacitorjs.plugins.network;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.ConnectivityManager.NetworkCallback;
+import android.net.NetworkCapabilities;
+import android.net.NetworkRequest;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the capabilities of every network that provides internet access, not only the default
+ * one, so apps can see failover candidates and pick unmetered links for bulk traffic.
+ */
+class NetworkTracker {
+
+    /**
+     * Interface for callbacks when the set of networks or their capabilities change.
+     */
+    interface NetworksChangeListener {
+        void onNetworksChanged();
+    }
+
+    static class TrackedNetwork {
+
+        final android.net.Network network;
+        final NetworkStatus status;
+        final boolean isDefault;
+
+        TrackedNetwork(android.net.Network network, NetworkStatus status, boolean isDefault) {
+            this.network = network;
+            this.status = status;
+            this.isDefault = isDefault;
+        }
+
+        /**
+         * @return an identifier that stays the same for the lifetime of the network and can be
+         * resolved with {@link android.net.Network#fromNetworkHandle(long)}
+         */
+        String getId() {
+            return Long.toString(network.getNetworkHandle());
+        }
+    }
+
+    private class TrackingCallback extends NetworkCallback {
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull android.net.Network network, @NonNull NetworkCapabilities networkCapabilities) {
+            super.onCapabilitiesChanged(network, networkCapabilities);
+            if (callback != this) {
+                // Delivered after the tracker was stopped
+                return;
+            }
+            synchronized (networks) {
+                networks.put(network, Network.parseNetworkCapabilities(networkCapabilities));
+            }
+            notifyChanged();
+        }
+
+        @Override
+        public void onLost(@NonNull android.net.Network network) {
+            super.onLost(network);
+            if (callback != this) {
+                return;
+            }
+            synchronized (networks) {
+                if (networks.remove(network) == null) {
+                    // Only the networks reported with internet access are tracked
+                    return;
+                }
+            }
+            notifyChanged();
+        }
+    }
+
+    private final ConnectivityManager connectivityManager;
+    private final Map<android.net.Network, NetworkStatus> networks = new LinkedHashMap<>();
+
+    @Nullable
+    private volatile NetworkCallback callback;
+
+    @Nullable
+    private volatile NetworksChangeListener listener;
+
+    NetworkTracker(@NonNull Context context) {
+        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    void setListener(@Nullable NetworksChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Register for all networks with internet access. The callback is invoked for the networks
+     * that are already connected right after registering.
+     */
+    synchronized void start() {
+        if (callback != null) {
+            return;
+        }
+        NetworkRequest request = new NetworkRequest.Builder()
+            .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+            .build();
+        callback = new TrackingCallback();
+        connectivityManager.registerNetworkCallback(request, callback);
+    }
+
+    synchronized void stop() {
+        if (callback == null) {
+            return;
+        }
+        connectivityManager.unregisterNetworkCallback(callback);
+        callback = null;
+        synchronized (networks) {
+            networks.clear();
+        }
+    }
+
+    synchronized boolean isTracking() {
+        return callback != null;
+    }
+
+    /**
+     * @return the tracked networks, ordered by when they first became available
+     */
+    List<TrackedNetwork> getNetworks() {
+        android.net.Network defaultNetwork = connectivityManager.getActiveNetwork();
+        synchronized (networks) {
+            List<TrackedNetwork> result = new ArrayList<>(networks.size());
+            for (Map.Entry<android.net.Network, NetworkStatus> entry : networks.entrySet()) {
+                result.add(new TrackedNetwork(entry.getKey(), entry.getValue(), entry.getKey().equals(defaultNetwork)));
+            }
+            return result;
+        }
+    }
+
+    private void notifyChanged() {
+        NetworksChangeListener current = listener;
+        if (current != null) {
+            current.onNetworksChanged();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.capacitorjs.plugins.network;
+
+import static org.junit.Assert.*;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NetworkProbeTest {
+
+    private static final int BODY_SIZE = 512 * 1024;
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/body", (exchange) -> {
+            exchange.sendResponseHeaders(200, BODY_SIZE);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(new byte[BODY_SIZE]);
+            }
+        });
+        server.createContext("/error", (exchange) -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", (exchange) -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException ignored) {}
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private NetworkProbe probe(String path, int timeoutMs, long maxBytes) throws IOException {
+        return new NetworkProbe(new URL(baseUrl + path), timeoutMs, maxBytes, 0.5);
+    }
+
+    @Test
+    public void successfulProbeMeasuresTheBody() throws IOException {
+        NetworkProbe probe = probe("/body", 5000, BODY_SIZE);
+
+        NetworkProbe.Sample sample = probe.run();
+        assertEquals(BODY_SIZE, sample.bytes);
+        assertTrue(sample.rttMs >= 0);
+        assertTrue(sample.downstreamKbps > 0);
+
+        NetworkProbe.Estimate estimate = probe.getEstimate();
+        assertEquals(1, estimate.samples);
+        assertEquals(0, estimate.failures);
+        assertEquals(sample.rttMs, estimate.rttMs, 0);
+        assertEquals(sample.downstreamKbps, estimate.downstreamKbps, 0);
+    }
+
+    @Test
+    public void downloadStopsAtMaxBytes() throws IOException {
+        NetworkProbe.Sample sample = probe("/body", 5000, 64 * 1024).run();
+
+        assertEquals(64 * 1024, sample.bytes);
+    }
+
+    @Test
+    public void errorStatusCountsAsFailure() throws IOException {
+        NetworkProbe probe = probe("/error", 5000, BODY_SIZE);
+
+        assertThrows(IOException.class, probe::run);
+        assertEquals(0, probe.getEstimate().samples);
+        assertEquals(1, probe.getEstimate().failures);
+    }
+
+    @Test
+    public void slowEndpointTimesOut() throws IOException {
+        NetworkProbe probe = probe("/slow", 200, BODY_SIZE);
+
+        long start = System.nanoTime();
+        assertThrows(IOException.class, probe::run);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertEquals(1, probe.getEstimate().failures);
+    }
+
+    @Test
+    public void estimateIsAnExponentiallyWeightedAverage() throws IOException {
+        NetworkProbe probe = probe("/body", 5000, BODY_SIZE);
+
+        probe.update(sample(100, 1000));
+        probe.update(sample(200, 3000));
+        NetworkProbe.Estimate estimate = probe.getEstimate();
+        assertEquals(150, estimate.rttMs, 0.001);
+        assertEquals(2000, estimate.downstreamKbps, 0.001);
+
+        // a body too small to time leaves the rate untouched
+        probe.update(sample(50, 0));
+        estimate = probe.getEstimate();
+        assertEquals(100, estimate.rttMs, 0.001);
+        assertEquals(2000, estimate.downstreamKbps, 0.001);
+        assertEquals(3, estimate.samples);
+    }
+
+    @Test
+    public void oneShotProbeReportsToTheListener() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<NetworkProbe.Sample> result = new AtomicReference<>();
+
+        probe("/body", 5000, BODY_SIZE).runOnce((sample, estimate, error) -> {
+            result.set(sample);
+            done.countDown();
+        });
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        assertEquals(BODY_SIZE, result.get().bytes);
+    }
+
+    private static NetworkProbe.Sample sample(long rttMs, double downstreamKbps) {
+        NetworkProbe.Sample sample = new NetworkProbe.Sample();
+        sample.rttMs = rttMs;
+        sample.downstreamKbps = downstreamKbps;
+        return sample;
+    }
+}
@@ -6,7 +6,14 @@ public class NetworkPlugin: CAPPlugin, CAPBridgedPlugin {
     public let identifier = "CAPNetworkPlugin"
     public let jsName = "Network"
     public let pluginMethods: [CAPPluginMethod] = [
-        CAPPluginMethod(name: "getStatus", returnType: CAPPluginReturnPromise)
+        CAPPluginMethod(name: "getStatus", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "setQualityThresholds", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "startProbe", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "stopProbe", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "runProbe", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "startTrackingNetworks", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "stopTrackingNetworks", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getNetworks", returnType: CAPPluginReturnPromise)
     ]
     private var implementation: Network?
 
@@ -30,6 +37,34 @@ public class NetworkPlugin: CAPPlugin, CAPBridgedPlugin {
         let status = implementation?.currentStatus() ?? Network.Connection.unavailable
         call.resolve(["connected": status.isConnected, "connectionType": status.jsStringValue])
     }
+
+    @objc func setQualityThresholds(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func startProbe(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func stopProbe(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func runProbe(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func startTrackingNetworks(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func stopTrackingNetworks(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func getNetworks(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
 }
 
 extension Network.Connection {
@@ -1,5 +1,32 @@
+/// <reference types="@capacitor/cli" />
+
 import type { PluginListenerHandle } from '@capacitor/core';
 
+declare module '@capacitor/cli' {
+  export interface PluginsConfig {
+    /**
+     * These config values are available:
+     */
+    Network?: {
+      /**
+       * Time in milliseconds to wait for the connection to settle before
+       * emitting a `networkStatusChange` event.
+       *
+       * Events are only emitted when `connected` or `connectionType` changed,
+       * bursts of system callbacks within this window are coalesced into a
+       * single event.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default 0
+       * @example 500
+       */
+      statusChangeDebounce?: number;
+    };
+  }
+}
+
 export interface NetworkPlugin {
   /**
    * Query the current status of the network connection.
@@ -18,6 +45,122 @@ export interface NetworkPlugin {
     listenerFunc: ConnectionStatusChangeListener,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Configure the link quality thresholds that fire the
+   * `networkQualityChange` event.
+   *
+   * Calling this again replaces the previous thresholds, calling it without
+   * any thresholds stops the event.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  setQualityThresholds(options: QualityThresholdOptions): Promise<void>;
+
+  /**
+   * Listen for link quality metrics crossing one of the thresholds set with
+   * `setQualityThresholds()`.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  addListener(
+    eventName: 'networkQualityChange',
+    listenerFunc: (event: NetworkQualityChangeEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Start measuring the round trip time and download rate against an HTTP
+   * endpoint periodically.
+   *
+   * Every measurement updates the moving estimate returned by `getStatus()`
+   * and fires the `networkProbe` event. Probing is paused while the app is in
+   * the background.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  startProbe(options: ProbeOptions): Promise<void>;
+
+  /**
+   * Stop the periodic measurements started with `startProbe()`.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  stopProbe(): Promise<void>;
+
+  /**
+   * Run a single measurement against an HTTP endpoint.
+   *
+   * The measurement updates the estimate returned by `getStatus()`, unless
+   * `startProbe()` is running with other options. The result then only holds
+   * this measurement.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  runProbe(options: ProbeOptions): Promise<ProbeResult>;
+
+  /**
+   * Listen for completed probe measurements.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  addListener(eventName: 'networkProbe', listenerFunc: (result: ProbeResult) => void): Promise<PluginListenerHandle>;
+
+  /**
+   * Start tracking every network with internet access, not only the default
+   * one.
+   *
+   * Tracking is paused while the app is in the background.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  startTrackingNetworks(): Promise<void>;
+
+  /**
+   * Stop tracking the networks.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  stopTrackingNetworks(): Promise<void>;
+
+  /**
+   * Get all networks with internet access.
+   *
+   * Rejects if tracking was not started with `startTrackingNetworks()`.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  getNetworks(): Promise<NetworksResult>;
+
+  /**
+   * Listen for networks being added, removed or changing their
+   * capabilities while tracking.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  addListener(
+    eventName: 'networksChange',
+    listenerFunc: (result: NetworksResult) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Remove all listeners (including the network status changes) for this plugin.
    *
@@ -47,6 +190,281 @@ export interface ConnectionStatus {
    * @since 1.0.0
    */
   connectionType: ConnectionType;
+
+  /**
+   * Estimated downstream bandwidth of the link in kbps.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  downstreamBandwidthKbps?: number;
+
+  /**
+   * Estimated upstream bandwidth of the link in kbps.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  upstreamBandwidthKbps?: number;
+
+  /**
+   * Whether the network may charge for the traffic.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  metered?: boolean;
+
+  /**
+   * Whether connectivity to the internet was verified on this network.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  validated?: boolean;
+
+  /**
+   * Whether the network is behind a captive portal that requires sign in.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  captivePortal?: boolean;
+
+  /**
+   * Signal strength of the network, in dBm for WiFi and cellular.
+   *
+   * Not set when unknown.
+   *
+   * Only available on Android 10+.
+   *
+   * @since 8.1.0
+   */
+  signalStrength?: number;
+
+  /**
+   * The transports the network uses, a VPN is reported together with the
+   * transport it runs on.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  transports?: Transport[];
+
+  /**
+   * The moving estimate of the probe measurements, set once a probe
+   * completed.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  probe?: ProbeEstimate;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface QualityThresholdOptions {
+  /**
+   * Thresholds of the downstream bandwidth in kbps.
+   *
+   * @since 8.1.0
+   */
+  downstreamBandwidthKbps?: number[];
+
+  /**
+   * Thresholds of the upstream bandwidth in kbps.
+   *
+   * @since 8.1.0
+   */
+  upstreamBandwidthKbps?: number[];
+
+  /**
+   * Thresholds of the signal strength in dBm.
+   *
+   * @since 8.1.0
+   */
+  signalStrength?: number[];
+
+  /**
+   * Whether to fire the event when the network becomes metered or unmetered.
+   *
+   * @since 8.1.0
+   * @default false
+   */
+  metered?: boolean;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface ProbeOptions {
+  /**
+   * The endpoint to download from. It should serve an uncompressed,
+   * uncacheable body of at least `maxBytes`.
+   *
+   * Changing the endpoint or any of the other options resets the estimate.
+   *
+   * @since 8.1.0
+   */
+  url: string;
+
+  /**
+   * Time in milliseconds between two measurements, used by `startProbe()`.
+   *
+   * @since 8.1.0
+   * @default 30000
+   */
+  interval?: number;
+
+  /**
+   * Connect and read timeout in milliseconds.
+   *
+   * @since 8.1.0
+   * @default 10000
+   */
+  timeout?: number;
+
+  /**
+   * Maximum number of bytes to download per measurement.
+   *
+   * @since 8.1.0
+   * @default 262144
+   */
+  maxBytes?: number;
+
+  /**
+   * Weight of a new measurement in the moving estimate, between 0 and 1.
+   *
+   * @since 8.1.0
+   * @default 0.3
+   */
+  smoothing?: number;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface ProbeResult {
+  /**
+   * Time in milliseconds until the response headers were received.
+   *
+   * @since 8.1.0
+   */
+  rttMs: number;
+
+  /**
+   * Number of bytes downloaded.
+   *
+   * @since 8.1.0
+   */
+  bytes: number;
+
+  /**
+   * Achieved download rate in kbps, 0 if the body was too small to measure.
+   *
+   * @since 8.1.0
+   */
+  downstreamKbps: number;
+
+  /**
+   * The moving estimate including this measurement.
+   *
+   * @since 8.1.0
+   */
+  estimate: ProbeEstimate;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface ProbeEstimate {
+  /**
+   * Moving estimate of the round trip time in milliseconds.
+   *
+   * @since 8.1.0
+   */
+  rttMs: number;
+
+  /**
+   * Moving estimate of the download rate in kbps.
+   *
+   * @since 8.1.0
+   */
+  downstreamKbps: number;
+
+  /**
+   * Number of successful measurements.
+   *
+   * @since 8.1.0
+   */
+  samples: number;
+
+  /**
+   * Number of failed measurements.
+   *
+   * @since 8.1.0
+   */
+  failures: number;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface NetworksResult {
+  /**
+   * The networks with internet access, in the order they became available.
+   *
+   * @since 8.1.0
+   */
+  networks: NetworkInfo[];
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface NetworkInfo extends ConnectionStatus {
+  /**
+   * Identifier of the network, it stays the same while the network is
+   * connected. Native code can resolve it with `Network.fromNetworkHandle()`
+   * to bind sockets to the network.
+   *
+   * @since 8.1.0
+   */
+  id: string;
+
+  /**
+   * Whether this is the default network used by the app.
+   *
+   * @since 8.1.0
+   */
+  isDefault: boolean;
+}
+
+/**
+ * @since 8.1.0
+ */
+export interface NetworkQualityChangeEvent {
+  /**
+   * The current status of the network connection.
+   *
+   * @since 8.1.0
+   */
+  status: ConnectionStatus;
+
+  /**
+   * The metrics that crossed one of their thresholds.
+   *
+   * @since 8.1.0
+   */
+  metrics: QualityMetric[];
 }
 
 /**
@@ -63,6 +481,20 @@ export type ConnectionStatusChangeListener = (status: ConnectionStatus) => void;
  */
 export type ConnectionType = 'wifi' | 'cellular' | 'none' | 'unknown';
 
+/**
+ * A transport that a network connection might use.
+ *
+ * @since 8.1.0
+ */
+export type Transport = 'wifi' | 'cellular' | 'ethernet' | 'vpn' | 'bluetooth';
+
+/**
+ * A link quality metric that can be watched with `setQualityThresholds()`.
+ *
+ * @since 8.1.0
+ */
+export type QualityMetric = 'downstreamBandwidthKbps' | 'upstreamBandwidthKbps' | 'signalStrength' | 'metered';
+
 /**
  * @deprecated Use `ConnectionStatus`.
  * @since 1.0.0
@@ -1,6 +1,6 @@
 import { WebPlugin } from '@capacitor/core';
 
-import type { ConnectionStatus, ConnectionType, NetworkPlugin } from './definitions';
+import type { ConnectionStatus, ConnectionType, NetworkPlugin, NetworksResult, ProbeResult } from './definitions';
 
 declare global {
   interface Navigator {
@@ -74,6 +74,34 @@ export class NetworkWeb extends WebPlugin implements NetworkPlugin {
     return status;
   }
 
+  async setQualityThresholds(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async startProbe(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async stopProbe(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async runProbe(): Promise<ProbeResult> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async startTrackingNetworks(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async stopTrackingNetworks(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async getNetworks(): Promise<NetworksResult> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
   private handleOnline = () => {
     const connectionType = translatedConnection();
 
@@ -0,0 +1,128 @@
+package com.capacitorjs.plugins.preferences;
+
+import android.util.Base64;
+import com.getcapacitor.Logger;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates values from a size threshold on.
+ *
+ * Compressed values are stored as a header character followed by the Base64 encoded deflate
+ * stream. Plain values that happen to start with a character of the header range are escaped,
+ * so compressed and plain values can coexist in the same group. The header range is reserved
+ * for the value codecs and taken from the Unicode private use area, which keeps the headers
+ * valid in the SharedPreferences XML. Values stored before the codecs existed are escaped once
+ * when their group is first opened.
+ */
+class CompressionCodec implements PreferencesValueCodec {
+
+    private static final char HEADER_DEFLATE = '\uE000';
+    private static final char HEADER_ESCAPED = '\uE001';
+    private static final char HEADER_RANGE_START = '\uE000';
+    private static final char HEADER_RANGE_END = '\uE0FF';
+
+    private final int threshold;
+
+    /**
+     * @param threshold the length from which values are compressed, or 0 to never compress
+     */
+    CompressionCodec(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String encode(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (threshold > 0 && value.length() >= threshold) {
+            byte[] compressed = deflate(value.getBytes(StandardCharsets.UTF_8));
+            String encoded = HEADER_DEFLATE + Base64.encodeToString(compressed, Base64.NO_WRAP);
+            if (encoded.length() < value.length()) {
+                return encoded;
+            }
+        }
+
+        return escape(value);
+    }
+
+    @Override
+    public String decode(String stored) {
+        if (stored == null || stored.isEmpty()) {
+            return stored;
+        }
+
+        switch (stored.charAt(0)) {
+            case HEADER_DEFLATE:
+                try {
+                    return new String(inflate(Base64.decode(stored.substring(1), Base64.NO_WRAP)), StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException | DataFormatException ex) {
+                    Logger.error(Logger.tags("Preferences"), "Unable to decompress value", ex);
+                    return null;
+                }
+            case HEADER_ESCAPED:
+                return stored.substring(1);
+            default:
+                return stored;
+        }
+    }
+
+    /**
+     * @return the value in the form it is stored without compression, escaped if it starts with a
+     * character of the header range
+     */
+    static String escape(String value) {
+        if (value != null && !value.isEmpty() && isHeader(value.charAt(0))) {
+            return HEADER_ESCAPED + value;
+        }
+        return value;
+    }
+
+    static boolean isCompressed(String stored) {
+        return stored != null && !stored.isEmpty() && stored.charAt(0) == HEADER_DEFLATE;
+    }
+
+    private static boolean isHeader(char c) {
+        return c >= HEADER_RANGE_START && c <= HEADER_RANGE_END;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed value");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
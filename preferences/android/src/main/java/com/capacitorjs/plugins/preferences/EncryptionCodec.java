@@ -0,0 +1,193 @@
+package com.capacitorjs.plugins.preferences;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+import android.util.Base64;
+import com.getcapacitor.Logger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts values with AES-GCM on top of another codec.
+ *
+ * Every group has its own data key. The data key is stored wrapped by a key that never leaves
+ * the Android Keystore and is unwrapped once per process, so the Keystore is not involved in
+ * regular reads and writes. Ciphers are reused per thread and only re-initialised with a fresh
+ * IV for every value.
+ *
+ * Encrypted values are stored as a header character followed by the Base64 encoded IV and
+ * ciphertext. Values without the header are passed through, so existing plain values stay
+ * readable and are encrypted the next time they are written.
+ */
+class EncryptionCodec implements PreferencesValueCodec {
+
+    private static final char HEADER_ENCRYPTED = '\uE002';
+
+    private static final String KEYSTORE_PROVIDER = "AndroidKeyStore";
+    private static final String MASTER_KEY_ALIAS = "CapacitorPreferencesMasterKey";
+    private static final String KEYS_PREFS_NAME = "CapacitorPreferencesKeys";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_SIZE = 256;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128;
+
+    private static final Map<String, SecretKey> dataKeys = new HashMap<>();
+    private static final SecureRandom random = new SecureRandom();
+    private static final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
+
+    private final Context context;
+    private final String group;
+    private final PreferencesValueCodec codec;
+    private final boolean encrypt;
+    private final SecretKey dataKey;
+
+    /**
+     * @param encrypt whether new values are encrypted, existing encrypted values are always decrypted
+     */
+    EncryptionCodec(Context context, String group, PreferencesValueCodec codec, boolean encrypt) {
+        this(context, group, codec, encrypt, null);
+    }
+
+    /**
+     * @param dataKey the data key to use instead of the key of the group, which keeps the
+     * Keystore out of unit tests
+     */
+    EncryptionCodec(Context context, String group, PreferencesValueCodec codec, boolean encrypt, SecretKey dataKey) {
+        this.context = context;
+        this.group = group;
+        this.codec = codec;
+        this.encrypt = encrypt;
+        this.dataKey = dataKey;
+    }
+
+    @Override
+    public String encode(String value) {
+        String encoded = codec.encode(value);
+        if (!encrypt || encoded == null) {
+            return encoded;
+        }
+
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = getCipher();
+            cipher.init(Cipher.ENCRYPT_MODE, getDataKey(), new GCMParameterSpec(TAG_LENGTH, iv));
+            byte[] ciphertext = cipher.doFinal(encoded.getBytes(StandardCharsets.UTF_8));
+
+            byte[] payload = Arrays.copyOf(iv, IV_LENGTH + ciphertext.length);
+            System.arraycopy(ciphertext, 0, payload, IV_LENGTH, ciphertext.length);
+            return HEADER_ENCRYPTED + Base64.encodeToString(payload, Base64.NO_WRAP);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to encrypt value", ex);
+        }
+    }
+
+    @Override
+    public String decode(String stored) {
+        if (stored == null || stored.isEmpty() || stored.charAt(0) != HEADER_ENCRYPTED) {
+            return codec.decode(stored);
+        }
+
+        try {
+            byte[] payload = Base64.decode(stored.substring(1), Base64.NO_WRAP);
+            Cipher cipher = getCipher();
+            cipher.init(Cipher.DECRYPT_MODE, getDataKey(), new GCMParameterSpec(TAG_LENGTH, payload, 0, IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+            return codec.decode(new String(plaintext, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | GeneralSecurityException ex) {
+            Logger.error(Logger.tags("Preferences"), "Unable to decrypt value", ex);
+            return null;
+        }
+    }
+
+    static boolean isEncrypted(String stored) {
+        return stored != null && !stored.isEmpty() && stored.charAt(0) == HEADER_ENCRYPTED;
+    }
+
+    private static Cipher getCipher() throws GeneralSecurityException {
+        Cipher cipher = ciphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(TRANSFORMATION);
+            ciphers.set(cipher);
+        }
+        return cipher;
+    }
+
+    private SecretKey getDataKey() throws GeneralSecurityException {
+        if (dataKey != null) {
+            return dataKey;
+        }
+        synchronized (dataKeys) {
+            SecretKey key = dataKeys.get(group);
+            if (key == null) {
+                key = loadDataKey();
+                dataKeys.put(group, key);
+            }
+            return key;
+        }
+    }
+
+    private SecretKey loadDataKey() throws GeneralSecurityException {
+        SecretKey masterKey = getMasterKey();
+        SharedPreferences keys = context.getSharedPreferences(KEYS_PREFS_NAME, Context.MODE_PRIVATE);
+        String wrapped = keys.getString(group, null);
+
+        if (wrapped != null) {
+            byte[] payload = Base64.decode(wrapped, Base64.NO_WRAP);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, masterKey, new GCMParameterSpec(TAG_LENGTH, payload, 0, IV_LENGTH));
+            return new SecretKeySpec(cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH), "AES");
+        }
+
+        byte[] material = new byte[KEY_SIZE / 8];
+        random.nextBytes(material);
+
+        // keystore keys generate their own IV
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, masterKey);
+        byte[] iv = cipher.getIV();
+        byte[] ciphertext = cipher.doFinal(material);
+
+        byte[] payload = Arrays.copyOf(iv, iv.length + ciphertext.length);
+        System.arraycopy(ciphertext, 0, payload, iv.length, ciphertext.length);
+        if (!keys.edit().putString(group, Base64.encodeToString(payload, Base64.NO_WRAP)).commit()) {
+            throw new GeneralSecurityException("Unable to store data key");
+        }
+        return new SecretKeySpec(material, "AES");
+    }
+
+    private static SecretKey getMasterKey() throws GeneralSecurityException {
+        try {
+            KeyStore keyStore = KeyStore.getInstance(KEYSTORE_PROVIDER);
+            keyStore.load(null);
+            if (keyStore.containsAlias(MASTER_KEY_ALIAS)) {
+                return (SecretKey) keyStore.getKey(MASTER_KEY_ALIAS, null);
+            }
+        } catch (IOException ex) {
+            throw new GeneralSecurityException("Unable to load keystore", ex);
+        }
+
+        KeyGenerator generator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE_PROVIDER);
+        generator.init(
+            new KeyGenParameterSpec.Builder(MASTER_KEY_ALIAS, KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+                .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                .setKeySize(KEY_SIZE)
+                .build()
+        );
+        return generator.generateKey();
+    }
+}
@@ -0,0 +1,539 @@
+package com.capacitorjs.plugins.preferences;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.getcapacitor.Logger;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Preferences storage backed by an append-only log.
+ *
+ * Every {@link Editor#apply()} appends a single checksummed frame holding all of the batched
+ * operations, so write cost depends on the size of the change rather than the size of the store.
+ * An in-memory hash index holds the current state. A torn or corrupted frame at the end of the
+ * log is discarded on load, which keeps every batch atomic. Frames are written synchronously but
+ * synced to disk in the background, so writes that happen while a sync is pending share the next
+ * one. Once enough of the log is made of overwritten entries it is compacted into a fresh log
+ * holding a single snapshot frame.
+ *
+ * Values whose encoded size reaches the large value threshold are not kept on the heap. The index
+ * only records where they are located in the log, and they are read through a memory mapping of
+ * the log file when requested. Keys and smaller values stay resident.
+ *
+ * The first time a group is opened with this engine, the string values of the SharedPreferences
+ * file with the same name are imported. The SharedPreferences file itself is left untouched. The
+ * log file is only created once the import is written, so a failed import is retried on the next
+ * write or the next time the group is opened.
+ */
+class LogStructuredStorage implements PreferencesStorage {
+
+    private static final String DIRECTORY = "CapacitorPreferences";
+    private static final String LOG_EXTENSION = ".log";
+    private static final String COMPACTION_EXTENSION = ".compact";
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_CLEAR = 3;
+
+    // frame header is the payload length and its CRC32
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int ENTRY_OVERHEAD = 9;
+    private static final long COMPACTION_MIN_SIZE = 64 * 1024;
+    private static final int COMPACTION_GARBAGE_RATIO = 2;
+
+    private static final ExecutorService syncExecutor = Executors.newSingleThreadExecutor();
+
+    private final File file;
+    private final int largeValueThreshold;
+    // values are either a resident String or a ValueRef into the log file
+    private final Map<String, Object> index = new HashMap<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean syncPending = new AtomicBoolean();
+    private MappedByteBuffer mapped;
+    private long liveBytes = 0;
+    private long fileLength = 0;
+
+    LogStructuredStorage(Context context, String group) {
+        this(context, group, Integer.MAX_VALUE);
+    }
+
+    LogStructuredStorage(Context context, String group, int largeValueThreshold) {
+        this.largeValueThreshold = largeValueThreshold;
+
+        File directory = new File(context.getFilesDir(), DIRECTORY);
+        if (!directory.exists() && !directory.mkdirs()) {
+            Logger.error(Logger.tags("Preferences"), "Unable to create directory " + directory, null);
+        }
+        this.file = new File(directory, fileName(group) + LOG_EXTENSION);
+
+        if (file.exists()) {
+            load();
+        } else {
+            migrate(context, group);
+        }
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        Object value = index.get(key);
+        if (value instanceof ValueRef) {
+            try {
+                return new String(read((ValueRef) value), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                Logger.error(Logger.tags("Preferences"), "Unable to read value of " + key + " from " + file, ex);
+                return null;
+            }
+        }
+        return (String) value;
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public synchronized Set<String> keys() {
+        return new HashSet<>(index.keySet());
+    }
+
+    @Override
+    public Editor edit() {
+        return new LogEditor();
+    }
+
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void commit(boolean clear, Map<String, String> modifications) {
+        if (!write(clear, modifications) || listeners.isEmpty()) {
+            return;
+        }
+
+        // notify outside of the lock so listeners can read the new values
+        for (ChangeListener listener : listeners) {
+            if (clear) {
+                listener.onChanged(null);
+            }
+            for (String key : modifications.keySet()) {
+                listener.onChanged(key);
+            }
+        }
+    }
+
+    private synchronized boolean write(boolean clear, Map<String, String> modifications) {
+        if (!clear && modifications.isEmpty()) {
+            return false;
+        }
+
+        List<Entry> entries = new ArrayList<>(modifications.size());
+        byte[] payload;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(buffer);
+            if (clear) {
+                output.writeByte(OP_CLEAR);
+            }
+            for (Map.Entry<String, String> modification : modifications.entrySet()) {
+                String value = modification.getValue();
+                byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+                entries.add(writeOperation(output, modification.getKey(), value, bytes));
+            }
+            payload = buffer.toByteArray();
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("Preferences"), "Unable to write preferences log " + file, ex);
+            return false;
+        }
+
+        // the import of the SharedPreferences values failed, they are still only in memory
+        if (!file.exists() && !replaceWithSnapshot(new LinkedHashMap<>(index))) {
+            return false;
+        }
+
+        long payloadOffset = fileLength + FRAME_HEADER_SIZE;
+        try {
+            append(payload);
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("Preferences"), "Unable to write preferences log " + file, ex);
+            return false;
+        }
+        scheduleSync();
+
+        if (clear) {
+            index.clear();
+            liveBytes = 0;
+        }
+        for (Entry entry : entries) {
+            applyEntry(entry, payloadOffset);
+        }
+
+        if (fileLength > COMPACTION_MIN_SIZE && fileLength > liveBytes * COMPACTION_GARBAGE_RATIO) {
+            compact();
+        }
+        return true;
+    }
+
+    private void load() {
+        long validLength = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException ex) {
+                    break;
+                }
+                int checksum = input.readInt();
+                if (length < 0 || validLength + FRAME_HEADER_SIZE + length > file.length()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                replay(payload, validLength + FRAME_HEADER_SIZE);
+                validLength += FRAME_HEADER_SIZE + length;
+            }
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("Preferences"), "Unable to read preferences log " + file, ex);
+        }
+
+        fileLength = validLength;
+        if (validLength != file.length()) {
+            Logger.warn(Logger.tags("Preferences"), "Discarding incomplete entries at the end of " + file);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            } catch (IOException ex) {
+                Logger.error(Logger.tags("Preferences"), "Unable to truncate preferences log " + file, ex);
+            }
+        }
+    }
+
+    private void replay(byte[] payload, long payloadOffset) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        while (input.available() > 0) {
+            byte op = input.readByte();
+            switch (op) {
+                case OP_CLEAR:
+                    index.clear();
+                    liveBytes = 0;
+                    break;
+                case OP_REMOVE:
+                    put(readString(input), null);
+                    break;
+                case OP_PUT:
+                    String key = readString(input);
+                    int length = input.readInt();
+                    int position = payload.length - input.available();
+                    if (length >= largeValueThreshold) {
+                        input.skipBytes(length);
+                        put(key, new ValueRef(payloadOffset + position, length));
+                    } else {
+                        byte[] bytes = new byte[length];
+                        input.readFully(bytes);
+                        put(key, new String(bytes, StandardCharsets.UTF_8));
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown operation " + op);
+            }
+        }
+    }
+
+    private void migrate(Context context, String group) {
+        SharedPreferences preferences = context.getSharedPreferences(group, Activity.MODE_PRIVATE);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+            if (entry.getValue() instanceof String) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!replaceWithSnapshot(values)) {
+            // keep the values readable, the import is written again with the next write
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                put(value.getKey(), value.getValue());
+            }
+        }
+    }
+
+    private void compact() {
+        replaceWithSnapshot(new LinkedHashMap<>(index));
+    }
+
+    private boolean replaceWithSnapshot(Map<String, Object> values) {
+        File snapshot = new File(file.getParentFile(), file.getName() + COMPACTION_EXTENSION);
+        List<Entry> entries = new ArrayList<>(values.size());
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(buffer);
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                if (value.getValue() instanceof ValueRef) {
+                    entries.add(writeOperation(output, value.getKey(), null, read((ValueRef) value.getValue())));
+                } else {
+                    String string = (String) value.getValue();
+                    entries.add(writeOperation(output, value.getKey(), string, string.getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+
+            try (FileOutputStream stream = new FileOutputStream(snapshot, false)) {
+                if (!values.isEmpty()) {
+                    stream.write(frame(buffer.toByteArray()));
+                }
+                stream.getFD().sync();
+            }
+            if (!snapshot.renameTo(file)) {
+                throw new IOException("Unable to replace " + file);
+            }
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("Preferences"), "Unable to write preferences log " + file, ex);
+            snapshot.delete();
+            return false;
+        }
+
+        mapped = null;
+        fileLength = file.length();
+        index.clear();
+        liveBytes = 0;
+        for (Entry entry : entries) {
+            applyEntry(entry, FRAME_HEADER_SIZE);
+        }
+        return true;
+    }
+
+    private void applyEntry(Entry entry, long payloadOffset) {
+        if (entry.bytes == null) {
+            put(entry.key, null);
+        } else if (entry.bytes.length >= largeValueThreshold) {
+            put(entry.key, new ValueRef(payloadOffset + entry.position, entry.bytes.length));
+        } else {
+            put(entry.key, entry.value != null ? entry.value : new String(entry.bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void put(String key, Object value) {
+        Object previous = value == null ? index.remove(key) : index.put(key, value);
+        if (previous != null) {
+            liveBytes -= entrySize(key, previous);
+        }
+        if (value != null) {
+            liveBytes += entrySize(key, value);
+        }
+    }
+
+    private byte[] read(ValueRef ref) throws IOException {
+        if (mapped == null || mapped.capacity() < ref.offset + ref.length) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                mapped = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, fileLength);
+            }
+        }
+
+        byte[] bytes = new byte[ref.length];
+        ByteBuffer view = mapped.duplicate();
+        view.position((int) ref.offset);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private void append(byte[] payload) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            try {
+                // drops the bytes of an earlier append that failed part way
+                if (raf.length() != fileLength) {
+                    raf.setLength(fileLength);
+                }
+                raf.seek(fileLength);
+                raf.write(frame(payload));
+            } catch (IOException ex) {
+                try {
+                    raf.setLength(fileLength);
+                } catch (IOException truncateEx) {
+                    // retried before the next append
+                    ex.addSuppressed(truncateEx);
+                }
+                throw ex;
+            }
+        }
+        fileLength += FRAME_HEADER_SIZE + payload.length;
+    }
+
+    private void scheduleSync() {
+        if (syncPending.compareAndSet(false, true)) {
+            syncExecutor.execute(this::sync);
+        }
+    }
+
+    private void sync() {
+        // cleared first, so a frame appended while syncing schedules another sync
+        syncPending.set(false);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.getFD().sync();
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("Preferences"), "Unable to sync preferences log " + file, ex);
+        }
+    }
+
+    private static byte[] frame(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(FRAME_HEADER_SIZE + payload.length);
+        DataOutputStream output = new DataOutputStream(buffer);
+        output.writeInt(payload.length);
+        output.writeInt((int) crc.getValue());
+        output.write(payload);
+        return buffer.toByteArray();
+    }
+
+    private static Entry writeOperation(DataOutputStream output, String key, String value, byte[] bytes) throws IOException {
+        output.writeByte(bytes == null ? OP_REMOVE : OP_PUT);
+        writeString(output, key);
+        int position = 0;
+        if (bytes != null) {
+            output.writeInt(bytes.length);
+            position = output.size();
+            output.write(bytes);
+        }
+        return new Entry(key, value, bytes, position);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long entrySize(String key, Object value) {
+        // UTF-16 length is a good enough approximation of the encoded size for compaction purposes
+        int valueSize = value instanceof ValueRef ? ((ValueRef) value).length : ((String) value).length();
+        return ENTRY_OVERHEAD + key.length() + valueSize;
+    }
+
+    private static String fileName(String group) {
+        StringBuilder builder = new StringBuilder(group.length());
+        for (int i = 0; i < group.length(); i++) {
+            char c = group.charAt(i);
+            builder.append(Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_' ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Location of a large value inside the log file.
+     */
+    private static class ValueRef {
+
+        final long offset;
+        final int length;
+
+        ValueRef(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * An operation written to a frame, with the position of its value bytes within the payload.
+     */
+    private static class Entry {
+
+        final String key;
+        final String value;
+        final byte[] bytes;
+        final int position;
+
+        Entry(String key, String value, byte[] bytes, int position) {
+            this.key = key;
+            this.value = value;
+            this.bytes = bytes;
+            this.position = position;
+        }
+    }
+
+    private class LogEditor implements Editor {
+
+        private final Map<String, String> modifications = new LinkedHashMap<>();
+        private boolean clear = false;
+
+        @Override
+        public Editor putString(String key, String value) {
+            synchronized (this) {
+                modifications.put(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Editor remove(String key) {
+            synchronized (this) {
+                modifications.put(key, null);
+            }
+            return this;
+        }
+
+        @Override
+        public Editor clear() {
+            synchronized (this) {
+                clear = true;
+            }
+            return this;
+        }
+
+        @Override
+        public void apply() {
+            synchronized (this) {
+                commit(clear, modifications);
+                modifications.clear();
+                clear = false;
+            }
+        }
+    }
+}
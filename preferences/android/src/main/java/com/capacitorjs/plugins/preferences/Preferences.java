@@ -1,24 +1,90 @@
 package com.capacitorjs.plugins.preferences;
 
-import android.app.Activity;
 import android.content.Context;
 import android.content.SharedPreferences;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class Preferences {
 
-    private SharedPreferences preferences;
+    private static final int VALUE_CACHE_SIZE = 256;
+    private static final int MAX_CACHED_VALUE_LENGTH = 4096;
+    private static final String FORMAT_PREFS_NAME = "CapacitorPreferencesFormat";
+
+    private static final Map<String, Preferences> instances = new HashMap<>();
+    private static final Map<String, OpenStorage> storages = new HashMap<>();
+
+    private final String group;
+    private final PreferencesStorage storage;
+    private final PreferencesValueCodec codec;
+    private TreeSet<String> sortedKeys;
+    private final Map<String, String> valueCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > VALUE_CACHE_SIZE;
+        }
+    };
 
     private interface PreferencesOperation {
-        void execute(SharedPreferences.Editor editor);
+        void execute(PreferencesStorage.Editor editor);
+    }
+
+    /**
+     * Returns the shared instance for the configuration.
+     *
+     * Instances with different value options, such as compression or encryption, are separate
+     * but share the storage of their group, so the options of an instance never change once it
+     * is created. The log based engines share a single file per group, so a group can only be
+     * open with one of them and one large value threshold at a time.
+     *
+     * @throws IllegalArgumentException if the group is already open with another log based
+     * engine or large value threshold
+     */
+    public static Preferences getInstance(Context context, PreferencesConfiguration configuration) {
+        String storageId = (configuration.engine == PreferencesEngine.SHARED_PREFERENCES ? "prefs:" : "log:") + configuration.group;
+        String id = storageId + ":" + configuration.compressionThreshold + ":" + configuration.encrypted;
+        synchronized (instances) {
+            OpenStorage storage = storages.get(storageId);
+            if (storage == null) {
+                storage = new OpenStorage(context.getApplicationContext(), configuration);
+                storages.put(storageId, storage);
+            } else {
+                storage.checkCompatible(configuration);
+            }
+
+            Preferences instance = instances.get(id);
+            if (instance == null) {
+                instance = new Preferences(context.getApplicationContext(), configuration, storage.storage);
+                instances.put(id, instance);
+            }
+            return instance;
+        }
     }
 
-    Preferences(Context context, PreferencesConfiguration configuration) {
-        this.preferences = context.getSharedPreferences(configuration.group, Activity.MODE_PRIVATE);
+    private Preferences(Context context, PreferencesConfiguration configuration, PreferencesStorage storage) {
+        this.group = configuration.group;
+        this.storage = storage;
+        this.storage.addChangeListener(this::onStorageChanged);
+        PreferencesValueCodec compression = new CompressionCodec(configuration.compressionThreshold);
+        this.codec = new EncryptionCodec(context, group, compression, configuration.encrypted);
     }
 
-    public String get(String key) {
-        return preferences.getString(key, null);
+    public synchronized String get(String key) {
+        String value = valueCache.get(key);
+        if (value == null) {
+            value = codec.decode(storage.get(key));
+            if (value != null && value.length() <= MAX_CACHED_VALUE_LENGTH) {
+                valueCache.put(key, value);
+            }
+        }
+        return value;
     }
 
     public void set(String key, String value) {
@@ -29,17 +95,270 @@ public class Preferences {
         executeOperation((editor) -> editor.remove(key));
     }
 
+    public Map<String, String> getMany(Collection<String> keys) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : keys) {
+            values.put(key, get(key));
+        }
+        return values;
+    }
+
+    public void setMany(Map<String, String> values) {
+        executeOperation((editor) -> {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                editor.putString(entry.getKey(), entry.getValue());
+            }
+        });
+    }
+
+    public void removeMany(Collection<String> keys) {
+        executeOperation((editor) -> {
+            for (String key : keys) {
+                editor.remove(key);
+            }
+        });
+    }
+
     public Set<String> keys() {
-        return preferences.getAll().keySet();
+        return storage.keys();
+    }
+
+    /**
+     * Returns a page of the keys starting with the given prefix, in lexicographic order.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     */
+    public KeysPage keysWithPrefix(String prefix, int limit, String cursor) {
+        List<String> keys = new ArrayList<>();
+        String nextCursor = null;
+        synchronized (this) {
+            TreeSet<String> index = getSortedKeys();
+            boolean resume = cursor != null && cursor.compareTo(prefix) >= 0;
+            for (String key : resume ? index.tailSet(cursor, false) : index.tailSet(prefix, true)) {
+                if (!key.startsWith(prefix)) {
+                    break;
+                }
+                if (keys.size() == limit) {
+                    nextCursor = keys.get(keys.size() - 1);
+                    break;
+                }
+                keys.add(key);
+            }
+        }
+        return new KeysPage(keys, nextCursor);
+    }
+
+    /**
+     * Computes the size of the stored values. All values are read, so this is meant for diagnostics.
+     */
+    public synchronized StorageInfo getStorageInfo() {
+        StorageInfo info = new StorageInfo();
+        for (String key : storage.keys()) {
+            String stored = storage.get(key);
+            if (stored == null) {
+                continue;
+            }
+            String value = codec.decode(stored);
+            info.keys++;
+            info.storedSize += stored.length();
+            info.valueSize += value == null ? 0 : value.length();
+            if (EncryptionCodec.isEncrypted(stored)) {
+                info.encryptedValues++;
+            } else if (CompressionCodec.isCompressed(stored)) {
+                info.compressedValues++;
+            }
+        }
+        return info;
+    }
+
+    public void addChangeListener(PreferencesStorage.ChangeListener listener) {
+        storage.addChangeListener(listener);
+    }
+
+    public void removeChangeListener(PreferencesStorage.ChangeListener listener) {
+        storage.removeChangeListener(listener);
     }
 
     public void clear() {
-        executeOperation(SharedPreferences.Editor::clear);
+        executeOperation(PreferencesStorage.Editor::clear);
     }
 
     private void executeOperation(PreferencesOperation op) {
-        SharedPreferences.Editor editor = preferences.edit();
+        IndexingEditor editor = new IndexingEditor(storage.edit());
         op.execute(editor);
         editor.apply();
     }
+
+    private synchronized void onStorageChanged(String key) {
+        // also picks up writes made to the store without going through this instance
+        if (key == null) {
+            valueCache.clear();
+        } else {
+            valueCache.remove(key);
+        }
+        if (sortedKeys == null) {
+            return;
+        }
+        if (key == null) {
+            sortedKeys = null;
+        } else if (storage.contains(key)) {
+            sortedKeys.add(key);
+        } else {
+            sortedKeys.remove(key);
+        }
+    }
+
+    private synchronized TreeSet<String> getSortedKeys() {
+        if (sortedKeys == null) {
+            sortedKeys = new TreeSet<>(storage.keys());
+        }
+        return sortedKeys;
+    }
+
+    /**
+     * A storage shared by the instances of a group, with the options it was opened with.
+     */
+    private static class OpenStorage {
+
+        final PreferencesEngine engine;
+        final int largeValueThreshold;
+        final PreferencesStorage storage;
+
+        OpenStorage(Context context, PreferencesConfiguration configuration) {
+            escapeLegacyValues(context, configuration.group);
+            this.engine = configuration.engine;
+            this.largeValueThreshold = configuration.largeValueThreshold;
+            if (engine == PreferencesEngine.LOG) {
+                this.storage = new LogStructuredStorage(context, configuration.group);
+            } else if (engine == PreferencesEngine.MAPPED) {
+                this.storage = new LogStructuredStorage(context, configuration.group, largeValueThreshold);
+            } else {
+                this.storage = new SharedPreferencesStorage(context, configuration.group);
+            }
+        }
+
+        void checkCompatible(PreferencesConfiguration configuration) {
+            if (configuration.engine != engine) {
+                throw new IllegalArgumentException(
+                    "Group " + configuration.group + " is already open with the " + engine.getEngine() + " engine"
+                );
+            }
+            if (engine == PreferencesEngine.MAPPED && configuration.largeValueThreshold != largeValueThreshold) {
+                throw new IllegalArgumentException(
+                    "Group " + configuration.group + " is already open with a large value threshold of " + largeValueThreshold
+                );
+            }
+        }
+    }
+
+    /**
+     * Values written before the value codecs existed may start with a character of the header
+     * range, such as an icon glyph from the private use area, and would be taken for encoded
+     * values. They are escaped once per group, before any codec reads them. The log based
+     * engines import the SharedPreferences values, so they get the escaped values too.
+     */
+    private static void escapeLegacyValues(Context context, String group) {
+        SharedPreferences format = context.getSharedPreferences(FORMAT_PREFS_NAME, Context.MODE_PRIVATE);
+        if (format.getBoolean(group, false)) {
+            return;
+        }
+
+        SharedPreferences preferences = context.getSharedPreferences(group, Context.MODE_PRIVATE);
+        SharedPreferences.Editor editor = preferences.edit();
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+            if (entry.getValue() instanceof String) {
+                String value = (String) entry.getValue();
+                String escaped = CompressionCodec.escape(value);
+                if (!escaped.equals(value)) {
+                    editor.putString(entry.getKey(), escaped);
+                }
+            }
+        }
+        // the group is only marked once its values are written, so a failed write is retried
+        if (editor.commit()) {
+            format.edit().putBoolean(group, true).commit();
+        }
+    }
+
+    public static class KeysPage {
+
+        public final List<String> keys;
+        public final String cursor;
+
+        KeysPage(List<String> keys, String cursor) {
+            this.keys = keys;
+            this.cursor = cursor;
+        }
+    }
+
+    public static class StorageInfo {
+
+        public int keys;
+        public int compressedValues;
+        public int encryptedValues;
+        public long storedSize;
+        public long valueSize;
+    }
+
+    /**
+     * Encodes the values and keeps the sorted key index in sync with the modifications applied
+     * through this instance.
+     */
+    private class IndexingEditor implements PreferencesStorage.Editor {
+
+        private final PreferencesStorage.Editor editor;
+        private final Set<String> modifiedKeys = new LinkedHashSet<>();
+        private boolean clear = false;
+
+        IndexingEditor(PreferencesStorage.Editor editor) {
+            this.editor = editor;
+        }
+
+        @Override
+        public PreferencesStorage.Editor putString(String key, String value) {
+            editor.putString(key, codec.encode(value));
+            modifiedKeys.add(key);
+            return this;
+        }
+
+        @Override
+        public PreferencesStorage.Editor remove(String key) {
+            editor.remove(key);
+            modifiedKeys.add(key);
+            return this;
+        }
+
+        @Override
+        public PreferencesStorage.Editor clear() {
+            editor.clear();
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public void apply() {
+            // The storage notifies the other instances of the group while applying, which lock
+            // themselves, so applying while holding this instance's lock could deadlock
+            editor.apply();
+            synchronized (Preferences.this) {
+                if (clear) {
+                    valueCache.clear();
+                    sortedKeys = null;
+                    return;
+                }
+                valueCache.keySet().removeAll(modifiedKeys);
+                if (sortedKeys == null) {
+                    return;
+                }
+                // another writer may have changed the keys since, so the storage decides
+                for (String key : modifiedKeys) {
+                    if (storage.contains(key)) {
+                        sortedKeys.add(key);
+                    } else {
+                        sortedKeys.remove(key);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -7,9 +7,17 @@ public class PreferencesConfiguration implements Cloneable {
     static {
         DEFAULTS = new PreferencesConfiguration();
         DEFAULTS.group = "CapacitorStorage";
+        DEFAULTS.engine = PreferencesEngine.SHARED_PREFERENCES;
+        DEFAULTS.largeValueThreshold = 4096;
+        DEFAULTS.compressionThreshold = 0;
+        DEFAULTS.encrypted = false;
     }
 
     String group;
+    PreferencesEngine engine;
+    int largeValueThreshold;
+    int compressionThreshold;
+    boolean encrypted;
 
     @Override
     public PreferencesConfiguration clone() throws CloneNotSupportedException {
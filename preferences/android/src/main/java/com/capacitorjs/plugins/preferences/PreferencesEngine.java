@@ -0,0 +1,26 @@
+package com.capacitorjs.plugins.preferences;
+
+public enum PreferencesEngine {
+    SHARED_PREFERENCES("sharedPreferences"),
+    LOG("log"),
+    MAPPED("mapped");
+
+    private String engine;
+
+    PreferencesEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public static PreferencesEngine fromString(String engine) {
+        for (PreferencesEngine value : values()) {
+            if (value.engine.equals(engine)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -7,18 +7,26 @@ import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.json.JSONException;
 
 @CapacitorPlugin(name = "Preferences")
 public class PreferencesPlugin extends Plugin {
 
+    private static final String EVENT_CHANGE = "change";
+    private static final int DEFAULT_COALESCE_INTERVAL = 100;
+
+    private PreferencesConfiguration configuration = PreferencesConfiguration.DEFAULTS;
     private Preferences preferences;
+    private PreferencesWatcher watcher;
 
     @Override
     public void load() {
-        preferences = new Preferences(getContext(), PreferencesConfiguration.DEFAULTS);
+        preferences = Preferences.getInstance(getContext(), configuration);
     }
 
     @PluginMethod
@@ -27,10 +35,26 @@ public class PreferencesPlugin extends Plugin {
             PreferencesConfiguration configuration = PreferencesConfiguration.DEFAULTS.clone();
             configuration.group = call.getString("group", PreferencesConfiguration.DEFAULTS.group);
 
-            preferences = new Preferences(getContext(), configuration);
+            String engine = call.getString("engine");
+            if (engine != null) {
+                configuration.engine = PreferencesEngine.fromString(engine);
+                if (configuration.engine == null) {
+                    call.reject("Unknown engine " + engine);
+                    return;
+                }
+            }
+            configuration.largeValueThreshold = call.getInt("largeValueThreshold", PreferencesConfiguration.DEFAULTS.largeValueThreshold);
+            configuration.compressionThreshold = call.getInt("compressionThreshold", PreferencesConfiguration.DEFAULTS.compressionThreshold);
+            configuration.encrypted = call.getBoolean("encrypted", PreferencesConfiguration.DEFAULTS.encrypted);
+
+            setPreferences(Preferences.getInstance(getContext(), configuration));
+            this.configuration = configuration;
         } catch (CloneNotSupportedException e) {
             call.reject("Error while configuring", e);
             return;
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage(), e);
+            return;
         }
         call.resolve();
     }
@@ -59,7 +83,12 @@ public class PreferencesPlugin extends Plugin {
         }
 
         String value = call.getString("value");
-        preferences.set(key, value);
+        try {
+            preferences.set(key, value);
+        } catch (IllegalStateException ex) {
+            call.reject(ex.getMessage(), ex);
+            return;
+        }
 
         call.resolve();
     }
@@ -77,6 +106,64 @@ public class PreferencesPlugin extends Plugin {
         call.resolve();
     }
 
+    @PluginMethod
+    public void getMany(PluginCall call) {
+        List<String> keys = getKeys(call);
+        if (keys == null) {
+            return;
+        }
+
+        JSObject values = new JSObject();
+        for (Map.Entry<String, String> entry : preferences.getMany(keys).entrySet()) {
+            values.put(entry.getKey(), entry.getValue() == null ? JSObject.NULL : entry.getValue());
+        }
+
+        JSObject ret = new JSObject();
+        ret.put("values", values);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void setMany(PluginCall call) {
+        JSObject values = call.getObject("values");
+        if (values == null) {
+            call.reject("Must provide values");
+            return;
+        }
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        Iterator<String> iterator = values.keys();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            String value = values.getString(key);
+            if (value == null) {
+                call.reject("Value for key " + key + " must be a string");
+                return;
+            }
+            entries.put(key, value);
+        }
+        try {
+            preferences.setMany(entries);
+        } catch (IllegalStateException ex) {
+            call.reject(ex.getMessage(), ex);
+            return;
+        }
+
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void removeMany(PluginCall call) {
+        List<String> keys = getKeys(call);
+        if (keys == null) {
+            return;
+        }
+
+        preferences.removeMany(keys);
+
+        call.resolve();
+    }
+
     @PluginMethod
     public void keys(PluginCall call) {
         Set<String> keySet = preferences.keys();
@@ -92,29 +179,106 @@ public class PreferencesPlugin extends Plugin {
         call.resolve(ret);
     }
 
+    @PluginMethod
+    public void keysWithPrefix(PluginCall call) {
+        String prefix = call.getString("prefix");
+        if (prefix == null) {
+            call.reject("Must provide prefix");
+            return;
+        }
+
+        int limit = call.getInt("limit", Integer.MAX_VALUE);
+        if (limit <= 0) {
+            call.reject("Limit must be greater than 0");
+            return;
+        }
+
+        Preferences.KeysPage page = preferences.keysWithPrefix(prefix, limit, call.getString("cursor"));
+
+        JSObject ret = new JSObject();
+        ret.put("keys", new JSArray(page.keys));
+        ret.put("cursor", page.cursor == null ? JSObject.NULL : page.cursor);
+        call.resolve(ret);
+    }
+
     @PluginMethod
     public void clear(PluginCall call) {
         preferences.clear();
         call.resolve();
     }
 
+    @PluginMethod
+    public void getStorageInfo(PluginCall call) {
+        Preferences.StorageInfo info = preferences.getStorageInfo();
+
+        JSObject ret = new JSObject();
+        ret.put("keys", info.keys);
+        ret.put("compressedValues", info.compressedValues);
+        ret.put("encryptedValues", info.encryptedValues);
+        ret.put("storedSize", info.storedSize);
+        ret.put("valueSize", info.valueSize);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void watch(PluginCall call) {
+        List<String> keys = null;
+        if (call.getArray("keys") != null) {
+            keys = getKeys(call);
+            if (keys == null) {
+                return;
+            }
+        }
+        String prefix = call.getString("prefix");
+        int coalesceInterval = call.getInt("coalesceInterval", DEFAULT_COALESCE_INTERVAL);
+
+        stopWatching();
+        watcher = new PreferencesWatcher(keys, prefix, coalesceInterval, this::notifyChanges);
+        preferences.addChangeListener(watcher);
+
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void unwatch(PluginCall call) {
+        stopWatching();
+        call.resolve();
+    }
+
     @PluginMethod
     public void migrate(PluginCall call) {
         List<String> migrated = new ArrayList<>();
         List<String> existing = new ArrayList<>();
-        Preferences oldPreferences = new Preferences(getContext(), PreferencesConfiguration.DEFAULTS);
-
-        for (String key : oldPreferences.keys()) {
-            String value = oldPreferences.get(key);
-            String currentValue = preferences.get(key);
+        Preferences oldPreferences;
+        try {
+            // Read the default group with the configured value options, which is the configured
+            // instance itself when the default group is in use
+            PreferencesConfiguration oldConfiguration = configuration.clone();
+            oldConfiguration.group = PreferencesConfiguration.DEFAULTS.group;
+            oldConfiguration.engine = PreferencesConfiguration.DEFAULTS.engine;
+            oldPreferences = Preferences.getInstance(getContext(), oldConfiguration);
+        } catch (CloneNotSupportedException e) {
+            call.reject("Error while migrating", e);
+            return;
+        }
 
-            if (currentValue == null) {
-                preferences.set(key, value);
-                migrated.add(key);
+        Map<String, String> oldValues = oldPreferences.getMany(oldPreferences.keys());
+        Map<String, String> currentValues = preferences.getMany(oldValues.keySet());
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : oldValues.entrySet()) {
+            if (currentValues.get(entry.getKey()) == null) {
+                values.put(entry.getKey(), entry.getValue());
+                migrated.add(entry.getKey());
             } else {
-                existing.add(key);
+                existing.add(entry.getKey());
             }
         }
+        try {
+            preferences.setMany(values);
+        } catch (IllegalStateException ex) {
+            call.reject(ex.getMessage(), ex);
+            return;
+        }
 
         JSObject ret = new JSObject();
         ret.put("migrated", new JSArray(migrated));
@@ -126,4 +290,47 @@ public class PreferencesPlugin extends Plugin {
     public void removeOld(PluginCall call) {
         call.resolve();
     }
+
+    @Override
+    protected void handleOnDestroy() {
+        stopWatching();
+    }
+
+    private void setPreferences(Preferences newPreferences) {
+        if (watcher != null) {
+            preferences.removeChangeListener(watcher);
+            newPreferences.addChangeListener(watcher);
+        }
+        preferences = newPreferences;
+    }
+
+    private void stopWatching() {
+        if (watcher != null) {
+            preferences.removeChangeListener(watcher);
+            watcher.cancel();
+            watcher = null;
+        }
+    }
+
+    private void notifyChanges(List<String> keys, boolean cleared) {
+        JSObject ret = new JSObject();
+        ret.put("keys", new JSArray(keys));
+        ret.put("cleared", cleared);
+        notifyListeners(EVENT_CHANGE, ret);
+    }
+
+    private List<String> getKeys(PluginCall call) {
+        JSArray keys = call.getArray("keys");
+        if (keys == null) {
+            call.reject("Must provide keys");
+            return null;
+        }
+
+        try {
+            return keys.toList();
+        } catch (JSONException ex) {
+            call.reject("Keys must be an array of strings", ex);
+            return null;
+        }
+    }
 }
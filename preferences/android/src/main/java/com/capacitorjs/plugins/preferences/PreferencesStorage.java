@@ -0,0 +1,44 @@
+package com.capacitorjs.plugins.preferences;
+
+import java.util.Set;
+
+/**
+ * Backing store of a preferences group.
+ *
+ * Modifications are collected in an {@link Editor} and become visible once
+ * {@link Editor#apply()} is called, mirroring {@link android.content.SharedPreferences}.
+ * Change listeners are notified of every applied modification, including the ones made
+ * by other code writing to the same store.
+ */
+interface PreferencesStorage {
+    String get(String key);
+
+    boolean contains(String key);
+
+    Set<String> keys();
+
+    Editor edit();
+
+    void addChangeListener(ChangeListener listener);
+
+    void removeChangeListener(ChangeListener listener);
+
+    interface ChangeListener {
+        /**
+         * Called after a value was changed or removed.
+         *
+         * @param key the changed key, or null if the storage was cleared
+         */
+        void onChanged(String key);
+    }
+
+    interface Editor {
+        Editor putString(String key, String value);
+
+        Editor remove(String key);
+
+        Editor clear();
+
+        void apply();
+    }
+}
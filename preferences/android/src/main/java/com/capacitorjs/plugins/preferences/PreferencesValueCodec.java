@@ -0,0 +1,13 @@
+package com.capacitorjs.plugins.preferences;
+
+/**
+ * Transforms values between their JS representation and the form they are stored in.
+ *
+ * Codecs mark the values they transform, so {@link #decode(String)} has to accept values
+ * that were stored without going through {@link #encode(String)}.
+ */
+interface PreferencesValueCodec {
+    String encode(String value);
+
+    String decode(String stored);
+}
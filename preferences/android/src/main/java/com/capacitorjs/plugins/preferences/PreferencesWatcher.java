@@ -0,0 +1,87 @@
+package com.capacitorjs.plugins.preferences;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filters the changes of a {@link Preferences} instance by key or prefix and coalesces
+ * changes happening in quick succession into a single batch.
+ */
+public class PreferencesWatcher implements PreferencesStorage.ChangeListener {
+
+    public interface BatchListener {
+        void onChanges(List<String> keys, boolean cleared);
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Set<String> keys;
+    private final String prefix;
+    private final long coalesceInterval;
+    private final BatchListener listener;
+
+    private final Set<String> pendingKeys = new LinkedHashSet<>();
+    private boolean pendingClear = false;
+    private boolean scheduled = false;
+
+    public PreferencesWatcher(Collection<String> keys, String prefix, long coalesceInterval, BatchListener listener) {
+        this.keys = keys == null ? null : new HashSet<>(keys);
+        this.prefix = prefix;
+        this.coalesceInterval = coalesceInterval;
+        this.listener = listener;
+    }
+
+    @Override
+    public void onChanged(String key) {
+        if (key != null && !matches(key)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (key == null) {
+                pendingClear = true;
+            } else {
+                pendingKeys.add(key);
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        handler.postDelayed(this::flush, coalesceInterval);
+    }
+
+    public void cancel() {
+        handler.removeCallbacksAndMessages(null);
+        synchronized (this) {
+            pendingKeys.clear();
+            pendingClear = false;
+            scheduled = false;
+        }
+    }
+
+    private boolean matches(String key) {
+        if (keys == null && prefix == null) {
+            return true;
+        }
+        return (keys != null && keys.contains(key)) || (prefix != null && key.startsWith(prefix));
+    }
+
+    private void flush() {
+        List<String> changed;
+        boolean cleared;
+        synchronized (this) {
+            changed = new ArrayList<>(pendingKeys);
+            cleared = pendingClear;
+            pendingKeys.clear();
+            pendingClear = false;
+            scheduled = false;
+        }
+        listener.onChanges(changed, cleared);
+    }
+}
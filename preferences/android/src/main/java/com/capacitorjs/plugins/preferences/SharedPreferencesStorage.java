@@ -0,0 +1,79 @@
+package com.capacitorjs.plugins.preferences;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class SharedPreferencesStorage implements PreferencesStorage {
+
+    private final SharedPreferences preferences;
+    // SharedPreferences only keeps weak references to its listeners
+    private final Map<ChangeListener, SharedPreferences.OnSharedPreferenceChangeListener> listeners = new ConcurrentHashMap<>();
+
+    SharedPreferencesStorage(Context context, String group) {
+        this.preferences = context.getSharedPreferences(group, Activity.MODE_PRIVATE);
+    }
+
+    @Override
+    public String get(String key) {
+        return preferences.getString(key, null);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return preferences.contains(key);
+    }
+
+    @Override
+    public Set<String> keys() {
+        return preferences.getAll().keySet();
+    }
+
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        SharedPreferences.OnSharedPreferenceChangeListener changeListener = (sharedPreferences, key) -> listener.onChanged(key);
+        if (listeners.putIfAbsent(listener, changeListener) == null) {
+            preferences.registerOnSharedPreferenceChangeListener(changeListener);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        SharedPreferences.OnSharedPreferenceChangeListener changeListener = listeners.remove(listener);
+        if (changeListener != null) {
+            preferences.unregisterOnSharedPreferenceChangeListener(changeListener);
+        }
+    }
+
+    @Override
+    public Editor edit() {
+        SharedPreferences.Editor editor = preferences.edit();
+        return new Editor() {
+            @Override
+            public Editor putString(String key, String value) {
+                editor.putString(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor remove(String key) {
+                editor.remove(key);
+                return this;
+            }
+
+            @Override
+            public Editor clear() {
+                editor.clear();
+                return this;
+            }
+
+            @Override
+            public void apply() {
+                editor.apply();
+            }
+        };
+    }
+}
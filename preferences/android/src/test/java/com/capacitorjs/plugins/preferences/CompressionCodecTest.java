@@ -0,0 +1,98 @@
+package com.capacitorjs.plugins.preferences;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CompressionCodecTest {
+
+    private static String repeat(String value, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void valuesFromTheThresholdAreCompressed() {
+        CompressionCodec codec = new CompressionCodec(64);
+        String value = repeat("{\"key\":\"value\"},", 100);
+
+        String stored = codec.encode(value);
+        assertTrue(CompressionCodec.isCompressed(stored));
+        assertTrue(stored.length() < value.length());
+        assertEquals(value, codec.decode(stored));
+    }
+
+    @Test
+    public void valuesBelowTheThresholdAreStoredPlain() {
+        CompressionCodec codec = new CompressionCodec(64);
+        String value = repeat("a", 63);
+
+        assertEquals(value, codec.encode(value));
+    }
+
+    @Test
+    public void valuesThatDoNotShrinkAreStoredPlain() {
+        CompressionCodec codec = new CompressionCodec(1);
+
+        assertEquals("ab", codec.encode("ab"));
+    }
+
+    @Test
+    public void zeroThresholdNeverCompresses() {
+        CompressionCodec codec = new CompressionCodec(0);
+        String value = repeat("a", 10000);
+
+        assertEquals(value, codec.encode(value));
+    }
+
+    @Test
+    public void plainValuesStartingWithAHeaderAreEscaped() {
+        CompressionCodec codec = new CompressionCodec(0);
+        String value = "\uE000not compressed";
+
+        String stored = codec.encode(value);
+        assertNotEquals(value, stored);
+        assertFalse(CompressionCodec.isCompressed(stored));
+        assertEquals(value, codec.decode(stored));
+    }
+
+    @Test
+    public void compressedValuesAreReadWithCompressionTurnedOff() {
+        String value = repeat("compressible ", 100);
+        String stored = new CompressionCodec(64).encode(value);
+
+        assertEquals(value, new CompressionCodec(0).decode(stored));
+    }
+
+    @Test
+    public void unicodeIsPreserved() {
+        CompressionCodec codec = new CompressionCodec(16);
+        String value = repeat("préférences 設定 😀 ", 50);
+
+        assertEquals(value, codec.decode(codec.encode(value)));
+    }
+
+    @Test
+    public void truncatedValuesAreReadAsNull() {
+        CompressionCodec codec = new CompressionCodec(64);
+        String stored = codec.encode(repeat("truncated ", 100));
+
+        assertNull(codec.decode(stored.substring(0, stored.length() / 2)));
+    }
+
+    @Test
+    public void nullAndEmptyValuesPassThrough() {
+        CompressionCodec codec = new CompressionCodec(1);
+
+        assertNull(codec.encode(null));
+        assertNull(codec.decode(null));
+        assertEquals("", codec.encode(""));
+        assertEquals("", codec.decode(""));
+    }
+}
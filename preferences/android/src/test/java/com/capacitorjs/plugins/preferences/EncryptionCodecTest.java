@@ -0,0 +1,101 @@
+package com.capacitorjs.plugins.preferences;
+
+import static org.junit.Assert.*;
+
+import java.util.Base64;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class EncryptionCodecTest {
+
+    private SecretKey key;
+
+    @Before
+    public void setUp() throws Exception {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(256);
+        key = generator.generateKey();
+    }
+
+    private EncryptionCodec codec(boolean encrypt) {
+        return new EncryptionCodec(null, "test", new CompressionCodec(0), encrypt, key);
+    }
+
+    @Test
+    public void valuesAreEncrypted() {
+        EncryptionCodec codec = codec(true);
+
+        String stored = codec.encode("secret");
+        assertTrue(EncryptionCodec.isEncrypted(stored));
+        assertFalse(stored.contains("secret"));
+        assertEquals("secret", codec.decode(stored));
+    }
+
+    @Test
+    public void everyValueGetsAFreshIv() {
+        EncryptionCodec codec = codec(true);
+
+        assertNotEquals(codec.encode("secret"), codec.encode("secret"));
+    }
+
+    @Test
+    public void encryptedValuesAreReadWithEncryptionTurnedOff() {
+        String stored = codec(true).encode("secret");
+
+        assertEquals("secret", codec(false).decode(stored));
+    }
+
+    @Test
+    public void plainValuesAreReadAndWrittenWithEncryptionTurnedOff() {
+        EncryptionCodec codec = codec(false);
+
+        assertEquals("plain", codec.encode("plain"));
+        assertEquals("plain", codec(true).decode("plain"));
+    }
+
+    @Test
+    public void tamperedValuesAreReadAsNull() {
+        String stored = codec(true).encode("secret");
+        byte[] payload = Base64.getDecoder().decode(stored.substring(1));
+        payload[payload.length - 1] ^= 1;
+        String tampered = stored.charAt(0) + Base64.getEncoder().encodeToString(payload);
+
+        assertNull(codec(true).decode(tampered));
+    }
+
+    @Test
+    public void valuesOfAnotherKeyAreReadAsNull() throws Exception {
+        String stored = codec(true).encode("secret");
+
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(256);
+        EncryptionCodec other = new EncryptionCodec(null, "test", new CompressionCodec(0), true, generator.generateKey());
+        assertNull(other.decode(stored));
+    }
+
+    @Test
+    public void compressedValuesAreEncrypted() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append("compressible ");
+        }
+        String value = builder.toString();
+        EncryptionCodec codec = new EncryptionCodec(null, "test", new CompressionCodec(64), true, key);
+
+        String stored = codec.encode(value);
+        assertTrue(EncryptionCodec.isEncrypted(stored));
+        assertTrue(stored.length() < value.length());
+        assertEquals(value, codec.decode(stored));
+    }
+
+    @Test
+    public void nullPassesThrough() {
+        assertNull(codec(true).encode(null));
+        assertNull(codec(true).decode(null));
+    }
+}
@@ -0,0 +1,138 @@
+package com.capacitorjs.plugins.preferences;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.util.zip.CRC32;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class LogStructuredStorageTest {
+
+    private static final String GROUP = "test";
+
+    private Context context;
+    private File log;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        log = new File(new File(context.getFilesDir(), "CapacitorPreferences"), GROUP + ".log");
+    }
+
+    @Test
+    public void framesHoldTheirLengthAndChecksum() throws Exception {
+        new LogStructuredStorage(context, GROUP).edit().putString("key", "value").apply();
+
+        try (DataInputStream input = new DataInputStream(new FileInputStream(log))) {
+            int length = input.readInt();
+            int checksum = input.readInt();
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            assertEquals((int) crc.getValue(), checksum);
+            assertEquals(8 + length, log.length());
+        }
+    }
+
+    @Test
+    public void valuesAreReadBackAfterReopening() {
+        LogStructuredStorage storage = new LogStructuredStorage(context, GROUP);
+        storage.edit().putString("a", "1").putString("b", "2").apply();
+        storage.edit().remove("a").putString("c", "3").apply();
+
+        LogStructuredStorage reopened = new LogStructuredStorage(context, GROUP);
+        assertNull(reopened.get("a"));
+        assertEquals("2", reopened.get("b"));
+        assertEquals("3", reopened.get("c"));
+        assertEquals(2, reopened.keys().size());
+    }
+
+    @Test
+    public void clearIsReplayed() {
+        LogStructuredStorage storage = new LogStructuredStorage(context, GROUP);
+        storage.edit().putString("a", "1").apply();
+        storage.edit().clear().putString("b", "2").apply();
+
+        LogStructuredStorage reopened = new LogStructuredStorage(context, GROUP);
+        assertFalse(reopened.contains("a"));
+        assertEquals("2", reopened.get("b"));
+    }
+
+    @Test
+    public void tornFrameIsDiscarded() throws Exception {
+        LogStructuredStorage storage = new LogStructuredStorage(context, GROUP);
+        storage.edit().putString("a", "1").apply();
+        long validLength = log.length();
+        storage.edit().putString("b", "2").apply();
+
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.setLength(validLength + 5);
+        }
+
+        LogStructuredStorage reopened = new LogStructuredStorage(context, GROUP);
+        assertEquals("1", reopened.get("a"));
+        assertFalse(reopened.contains("b"));
+        assertEquals(validLength, log.length());
+
+        // new frames follow the last valid one
+        reopened.edit().putString("c", "3").apply();
+        assertEquals("3", new LogStructuredStorage(context, GROUP).get("c"));
+    }
+
+    @Test
+    public void frameWithBadChecksumIsDiscarded() throws Exception {
+        LogStructuredStorage storage = new LogStructuredStorage(context, GROUP);
+        storage.edit().putString("a", "1").apply();
+        storage.edit().putString("b", "2").apply();
+
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.seek(log.length() - 1);
+            int last = raf.read();
+            raf.seek(log.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        LogStructuredStorage reopened = new LogStructuredStorage(context, GROUP);
+        assertEquals("1", reopened.get("a"));
+        assertFalse(reopened.contains("b"));
+    }
+
+    @Test
+    public void largeValuesAreReadFromTheLog() {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            large.append(i % 10);
+        }
+
+        LogStructuredStorage storage = new LogStructuredStorage(context, GROUP, 16);
+        storage.edit().putString("small", "value").putString("large", large.toString()).apply();
+        assertEquals(large.toString(), storage.get("large"));
+
+        LogStructuredStorage reopened = new LogStructuredStorage(context, GROUP, 16);
+        assertEquals("value", reopened.get("small"));
+        assertEquals(large.toString(), reopened.get("large"));
+    }
+
+    @Test
+    public void sharedPreferencesAreImportedOnce() {
+        context.getSharedPreferences(GROUP, Context.MODE_PRIVATE).edit().putString("a", "1").commit();
+
+        LogStructuredStorage storage = new LogStructuredStorage(context, GROUP);
+        assertEquals("1", storage.get("a"));
+        assertTrue(log.exists());
+
+        context.getSharedPreferences(GROUP, Context.MODE_PRIVATE).edit().putString("a", "2").commit();
+        assertEquals("1", new LogStructuredStorage(context, GROUP).get("a"));
+    }
+}
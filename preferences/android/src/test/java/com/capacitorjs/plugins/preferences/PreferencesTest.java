@@ -0,0 +1,205 @@
+package com.capacitorjs.plugins.preferences;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class PreferencesTest {
+
+    // Instances are shared per process, so every test uses groups of its own
+    private static int groups;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+    }
+
+    private static String newGroup() {
+        return "PreferencesTest" + groups++;
+    }
+
+    private static PreferencesConfiguration configuration(String group, PreferencesEngine engine) throws Exception {
+        PreferencesConfiguration configuration = PreferencesConfiguration.DEFAULTS.clone();
+        configuration.group = group;
+        configuration.engine = engine;
+        return configuration;
+    }
+
+    private void storeLegacyValues(String group) {
+        context
+            .getSharedPreferences(group, Context.MODE_PRIVATE)
+            .edit()
+            .putString("deflate", "\uE000icon")
+            .putString("escaped", "\uE001icon")
+            .putString("encrypted", "\uE002icon")
+            .putString("plain", "plain")
+            .commit();
+    }
+
+    private static void assertLegacyValues(Preferences preferences) {
+        assertEquals("\uE000icon", preferences.get("deflate"));
+        assertEquals("\uE001icon", preferences.get("escaped"));
+        assertEquals("\uE002icon", preferences.get("encrypted"));
+        assertEquals("plain", preferences.get("plain"));
+    }
+
+    @Test
+    public void legacyValuesStartingWithAHeaderAreReadBack() throws Exception {
+        String group = newGroup();
+        storeLegacyValues(group);
+
+        assertLegacyValues(Preferences.getInstance(context, configuration(group, PreferencesEngine.SHARED_PREFERENCES)));
+    }
+
+    @Test
+    public void legacyValuesAreEscapedOnlyOnce() throws Exception {
+        String group = newGroup();
+        storeLegacyValues(group);
+        PreferencesConfiguration configuration = configuration(group, PreferencesEngine.SHARED_PREFERENCES);
+        Preferences.getInstance(context, configuration);
+
+        configuration.compressionThreshold = 64;
+        assertLegacyValues(Preferences.getInstance(context, configuration));
+    }
+
+    @Test
+    public void legacyValuesAreEscapedBeforeTheLogImportsThem() throws Exception {
+        String group = newGroup();
+        storeLegacyValues(group);
+
+        assertLegacyValues(Preferences.getInstance(context, configuration(group, PreferencesEngine.LOG)));
+    }
+
+    @Test
+    public void instancesOfAGroupWriteConcurrently() throws Exception {
+        String group = newGroup();
+        PreferencesConfiguration configuration = configuration(group, PreferencesEngine.LOG);
+        Preferences plain = Preferences.getInstance(context, configuration);
+        configuration.compressionThreshold = 64;
+        Preferences compressed = Preferences.getInstance(context, configuration);
+        assertNotSame(plain, compressed);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (Preferences preferences : Arrays.asList(plain, compressed)) {
+                String prefix = preferences == plain ? "plain" : "compressed";
+                writers.add(
+                    executor.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            preferences.set(prefix + i, "value" + i);
+                            preferences.keysWithPrefix(prefix, 10, null);
+                            if (i % 2 == 0) {
+                                preferences.remove(prefix + i);
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            // a deadlock shows up as a timeout
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // each instance sees the writes of the other
+        assertEquals(250, plain.keysWithPrefix("compressed", 1000, null).keys.size());
+        assertEquals(250, compressed.keysWithPrefix("plain", 1000, null).keys.size());
+        assertEquals("value1", compressed.get("plain1"));
+        assertNull(plain.get("compressed0"));
+    }
+
+    private Preferences withKeys(String... keys) throws Exception {
+        Preferences preferences = Preferences.getInstance(context, configuration(newGroup(), PreferencesEngine.SHARED_PREFERENCES));
+        for (String key : keys) {
+            preferences.set(key, "");
+        }
+        return preferences;
+    }
+
+    @Test
+    public void keysArePagedInOrder() throws Exception {
+        Preferences preferences = withKeys("apps", "b", "apply", "a", "app", "ap", "apple");
+
+        Preferences.KeysPage first = preferences.keysWithPrefix("app", 2, null);
+        assertEquals(Arrays.asList("app", "apple"), first.keys);
+        assertEquals("apple", first.cursor);
+
+        Preferences.KeysPage second = preferences.keysWithPrefix("app", 2, first.cursor);
+        assertEquals(Arrays.asList("apply", "apps"), second.keys);
+        assertNull(second.cursor);
+    }
+
+    @Test
+    public void fullLastPageHasNoCursor() throws Exception {
+        Preferences preferences = withKeys("app", "apple", "b");
+
+        Preferences.KeysPage page = preferences.keysWithPrefix("app", 2, null);
+        assertEquals(Arrays.asList("app", "apple"), page.keys);
+        assertNull(page.cursor);
+    }
+
+    @Test
+    public void emptyPrefixMatchesEveryKey() throws Exception {
+        Preferences preferences = withKeys("b", "a", "c");
+
+        assertEquals(Arrays.asList("a", "b", "c"), preferences.keysWithPrefix("", 10, null).keys);
+    }
+
+    @Test
+    public void cursorBeforeThePrefixStartsAtThePrefix() throws Exception {
+        Preferences preferences = withKeys("a", "app", "apple");
+
+        assertEquals(Arrays.asList("app", "apple"), preferences.keysWithPrefix("app", 10, "a").keys);
+    }
+
+    @Test
+    public void cursorOfARemovedKeyResumesAfterIt() throws Exception {
+        Preferences preferences = withKeys("k1", "k2", "k3");
+        Preferences.KeysPage first = preferences.keysWithPrefix("k", 2, null);
+        preferences.remove(first.cursor);
+
+        assertEquals(Arrays.asList("k3"), preferences.keysWithPrefix("k", 2, first.cursor).keys);
+    }
+
+    @Test
+    public void indexFollowsWritesAndClear() throws Exception {
+        Preferences preferences = withKeys("k1", "k2");
+        preferences.keysWithPrefix("k", 10, null);
+
+        preferences.remove("k1");
+        preferences.set("k3", "");
+        assertEquals(Arrays.asList("k2", "k3"), preferences.keysWithPrefix("k", 10, null).keys);
+
+        preferences.clear();
+        assertTrue(preferences.keysWithPrefix("k", 10, null).keys.isEmpty());
+    }
+
+    @Test
+    public void keysAreOrderedByUtf16CodeUnits() throws Exception {
+        // U+1F600 is stored as the surrogates D83D DE00, which sort before U+FF21
+        Preferences preferences = withKeys("\uFF21", "\uD83D\uDE00", "e\u0301", "z");
+
+        assertEquals(Arrays.asList("e\u0301", "z", "\uD83D\uDE00", "\uFF21"), preferences.keysWithPrefix("", 10, null).keys);
+        assertEquals(Arrays.asList("\uFF21"), preferences.keysWithPrefix("", 10, "\uD83D\uDE00").keys);
+        assertEquals(Arrays.asList("e\u0301"), preferences.keysWithPrefix("e", 10, null).keys);
+    }
+}
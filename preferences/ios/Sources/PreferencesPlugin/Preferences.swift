@@ -48,6 +48,26 @@ public class Preferences {
         defaults.removeObject(forKey: applyPrefix(to: key))
     }
 
+    public func get(by keys: [String]) -> [String: String?] {
+        var values: [String: String?] = [:]
+        for key in keys {
+            values[key] = get(by: key)
+        }
+        return values
+    }
+
+    public func set(_ values: [String: String]) {
+        for (key, value) in values {
+            set(value, for: key)
+        }
+    }
+
+    public func remove(by keys: [String]) {
+        for key in keys {
+            remove(by: key)
+        }
+    }
+
     public func removeAll() {
         for key in rawKeys {
             defaults.removeObject(forKey: key)
@@ -58,6 +78,18 @@ public class Preferences {
         return rawKeys.map { String($0.dropFirst(prefix.count)) }
     }
 
+    /// Keys are compared by their UTF-16 code units, like Java's `String.compareTo`, so the pages
+    /// and cursors match the ones on Android.
+    public func keys(withPrefix keyPrefix: String, limit: Int, after cursor: String?) -> (keys: [String], cursor: String?) {
+        let matching = keys()
+            .filter { key in
+                key.utf16.starts(with: keyPrefix.utf16) && cursor.map { $0.utf16.lexicographicallyPrecedes(key.utf16) } ?? true
+            }
+            .sorted { $0.utf16.lexicographicallyPrecedes($1.utf16) }
+        let page = Array(matching.prefix(limit))
+        return (page, matching.count > page.count ? page.last : nil)
+    }
+
     private func applyPrefix(to key: String) -> String {
         return prefix + key
     }
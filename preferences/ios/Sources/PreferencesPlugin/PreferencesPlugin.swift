@@ -10,7 +10,14 @@ public class PreferencesPlugin: CAPPlugin, CAPBridgedPlugin {
         CAPPluginMethod(name: "get", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "set", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "remove", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getMany", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "setMany", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "removeMany", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "keys", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "keysWithPrefix", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getStorageInfo", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "watch", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "unwatch", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "clear", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "migrate", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "removeOld", returnType: CAPPluginReturnPromise)
@@ -69,6 +76,49 @@ public class PreferencesPlugin: CAPPlugin, CAPBridgedPlugin {
         call.resolve()
     }
 
+    @objc func getMany(_ call: CAPPluginCall) {
+        guard let keys = call.getArray("keys", String.self) else {
+            call.reject("Must provide keys")
+            return
+        }
+
+        // missing values are serialized as null only when they are NSNull
+        let values = preferences.get(by: keys).mapValues { value -> Any in value ?? NSNull() }
+
+        call.resolve([
+            "values": values
+        ])
+    }
+
+    @objc func setMany(_ call: CAPPluginCall) {
+        guard let values = call.getObject("values") else {
+            call.reject("Must provide values")
+            return
+        }
+
+        var entries: [String: String] = [:]
+        for (key, value) in values {
+            guard let value = value as? String else {
+                call.reject("Value for key \(key) must be a string")
+                return
+            }
+            entries[key] = value
+        }
+
+        preferences.set(entries)
+        call.resolve()
+    }
+
+    @objc func removeMany(_ call: CAPPluginCall) {
+        guard let keys = call.getArray("keys", String.self) else {
+            call.reject("Must provide keys")
+            return
+        }
+
+        preferences.remove(by: keys)
+        call.resolve()
+    }
+
     @objc func keys(_ call: CAPPluginCall) {
         let keys = preferences.keys()
 
@@ -77,6 +127,37 @@ public class PreferencesPlugin: CAPPlugin, CAPBridgedPlugin {
         ])
     }
 
+    @objc func keysWithPrefix(_ call: CAPPluginCall) {
+        guard let prefix = call.getString("prefix") else {
+            call.reject("Must provide prefix")
+            return
+        }
+        let limit = call.getInt("limit") ?? Int.max
+        guard limit > 0 else {
+            call.reject("Limit must be greater than 0")
+            return
+        }
+
+        let page = preferences.keys(withPrefix: prefix, limit: limit, after: call.getString("cursor"))
+
+        call.resolve([
+            "keys": page.keys,
+            "cursor": page.cursor as Any
+        ])
+    }
+
+    @objc func getStorageInfo(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func watch(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
+    @objc func unwatch(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
     @objc func clear(_ call: CAPPluginCall) {
         preferences.removeAll()
         call.resolve()
@@ -2,5 +2,31 @@ import XCTest
 @testable import PreferencesPlugin
 
 class PreferencesTests: XCTestCase {
+    private let preferences = Preferences(with: PreferencesConfiguration(for: .named("PreferencesTests")))
 
+    override func tearDown() {
+        preferences.removeAll()
+        super.tearDown()
+    }
+
+    func testKeysArePagedInOrder() {
+        preferences.set(["a": "", "ap": "", "app": "", "apple": "", "apply": "", "apps": "", "b": ""])
+
+        let first = preferences.keys(withPrefix: "app", limit: 2, after: nil)
+        XCTAssertEqual(first.keys, ["app", "apple"])
+        XCTAssertEqual(first.cursor, "apple")
+
+        let second = preferences.keys(withPrefix: "app", limit: 2, after: first.cursor)
+        XCTAssertEqual(second.keys, ["apply", "apps"])
+        XCTAssertNil(second.cursor)
+    }
+
+    func testKeysAreOrderedByUTF16CodeUnits() {
+        // U+1F600 is stored as the surrogates D83D DE00, which sort before U+FF21 as on Android
+        preferences.set(["\u{FF21}": "", "\u{1F600}": "", "e\u{301}": "", "z": ""])
+
+        XCTAssertEqual(preferences.keys(withPrefix: "", limit: 10, after: nil).keys, ["e\u{301}", "z", "\u{1F600}", "\u{FF21}"])
+        XCTAssertEqual(preferences.keys(withPrefix: "", limit: 10, after: "\u{1F600}").keys, ["\u{FF21}"])
+        XCTAssertEqual(preferences.keys(withPrefix: "e", limit: 10, after: nil).keys, ["e\u{301}"])
+    }
 }
@@ -1,3 +1,5 @@
+import type { PluginListenerHandle } from '@capacitor/core';
+
 export interface ConfigureOptions {
   /**
    * Set the preferences group.
@@ -13,8 +15,75 @@ export interface ConfigureOptions {
    * @since 1.0.0
    */
   group?: string;
+
+  /**
+   * Set the storage engine used for the preferences group.
+   *
+   * - `sharedPreferences`: values are stored in the group's SharedPreferences
+   *   file, which is rewritten entirely on every write.
+   * - `log`: values are stored in an append-only log, so the cost of a write
+   *   depends on the size of the change instead of the size of the group.
+   *   The log is compacted automatically. The first time a group is opened
+   *   with this engine, the values of its SharedPreferences file are copied
+   *   into the log.
+   * - `mapped`: same as `log`, but values larger than `largeValueThreshold`
+   *   are not kept in memory. They are read from a memory-mapped log file
+   *   when requested with `get()`.
+   *
+   * `log` and `mapped` use the same file, so configuring a group that is
+   * already open with the other one, or with another `largeValueThreshold`,
+   * is rejected until the app restarts.
+   *
+   * Only available on Android.
+   *
+   * @default sharedPreferences
+   * @since 8.1.0
+   */
+  engine?: PreferencesEngine;
+
+  /**
+   * Size in bytes from which values are not kept in memory when using the
+   * `mapped` engine.
+   *
+   * Only available on Android.
+   *
+   * @default 4096
+   * @since 8.1.0
+   */
+  largeValueThreshold?: number;
+
+  /**
+   * Length from which values are stored compressed.
+   *
+   * Values are only stored compressed when that makes them smaller.
+   * Compressed and plain values can coexist in the same group, so this can be
+   * changed at any time. Use `0` to disable compression for new values.
+   *
+   * Only available on Android.
+   *
+   * @default 0
+   * @since 8.1.0
+   */
+  compressionThreshold?: number;
+
+  /**
+   * Whether new values are encrypted at rest.
+   *
+   * Values are encrypted with AES-GCM using a key of the group that is
+   * wrapped by the Android Keystore. Encrypted values stay readable when this
+   * is turned off, and existing plain values are encrypted the next time
+   * they are written.
+   *
+   * Only available on Android.
+   *
+   * @default false
+   * @since 8.1.0
+   */
+  encrypted?: boolean;
 }
 
+export type PreferencesEngine = 'sharedPreferences' | 'log' | 'mapped';
+
 export interface GetOptions {
   /**
    * The key whose value to retrieve from preferences.
@@ -60,6 +129,44 @@ export interface RemoveOptions {
   key: string;
 }
 
+export interface GetManyOptions {
+  /**
+   * The keys whose values to retrieve from preferences.
+   *
+   * @since 8.1.0
+   */
+  keys: string[];
+}
+
+export interface GetManyResult {
+  /**
+   * The values from preferences associated with the given keys.
+   *
+   * Keys without a value are set to `null`.
+   *
+   * @since 8.1.0
+   */
+  values: { [key: string]: string | null };
+}
+
+export interface SetManyOptions {
+  /**
+   * The key/value pairs to set in preferences.
+   *
+   * @since 8.1.0
+   */
+  values: { [key: string]: string };
+}
+
+export interface RemoveManyOptions {
+  /**
+   * The keys whose values to remove from preferences.
+   *
+   * @since 8.1.0
+   */
+  keys: string[];
+}
+
 export interface KeysResult {
   /**
    * The known keys in preferences.
@@ -69,6 +176,131 @@ export interface KeysResult {
   keys: string[];
 }
 
+export interface KeysWithPrefixOptions {
+  /**
+   * The prefix the returned keys start with.
+   *
+   * @since 8.1.0
+   * @example "cache:user:"
+   */
+  prefix: string;
+
+  /**
+   * The maximum number of keys to return.
+   *
+   * @since 8.1.0
+   */
+  limit?: number;
+
+  /**
+   * The cursor returned with the previous page.
+   *
+   * Omit it to get the first page.
+   *
+   * @since 8.1.0
+   */
+  cursor?: string | null;
+}
+
+export interface KeysWithPrefixResult {
+  /**
+   * The keys starting with the prefix, in lexicographic order.
+   *
+   * @since 8.1.0
+   */
+  keys: string[];
+
+  /**
+   * The cursor to pass to get the next page.
+   *
+   * `null` when there are no more keys.
+   *
+   * @since 8.1.0
+   */
+  cursor: string | null;
+}
+
+export interface StorageInfo {
+  /**
+   * The number of keys in the preferences group.
+   *
+   * @since 8.1.0
+   */
+  keys: number;
+
+  /**
+   * The number of values stored compressed.
+   *
+   * @since 8.1.0
+   */
+  compressedValues: number;
+
+  /**
+   * The number of values stored encrypted.
+   *
+   * @since 8.1.0
+   */
+  encryptedValues: number;
+
+  /**
+   * The total length of the values as stored.
+   *
+   * @since 8.1.0
+   */
+  storedSize: number;
+
+  /**
+   * The total length of the values as returned by `get()`.
+   *
+   * @since 8.1.0
+   */
+  valueSize: number;
+}
+
+export interface WatchOptions {
+  /**
+   * Only report changes of these keys.
+   *
+   * @since 8.1.0
+   */
+  keys?: string[];
+
+  /**
+   * Only report changes of keys starting with this prefix.
+   *
+   * When both `keys` and `prefix` are set, changes matching either of them
+   * are reported.
+   *
+   * @since 8.1.0
+   */
+  prefix?: string;
+
+  /**
+   * Time window in milliseconds in which successive changes are coalesced
+   * into a single `change` event.
+   *
+   * @default 100
+   * @since 8.1.0
+   */
+  coalesceInterval?: number;
+}
+
+export interface PreferencesChangeEvent {
+  /**
+   * The keys whose values were set or removed.
+   *
+   * @since 8.1.0
+   */
+  keys: string[];
+
+  /**
+   * Whether the preferences group was cleared.
+   *
+   * @since 8.1.0
+   */
+  cleared: boolean;
+}
+
 export interface MigrateResult {
   /**
    * An array of keys that were migrated.
@@ -117,6 +349,30 @@ export interface PreferencesPlugin {
    */
   remove(options: RemoveOptions): Promise<void>;
 
+  /**
+   * Get the values from preferences of the given keys.
+   *
+   * @since 8.1.0
+   */
+  getMany(options: GetManyOptions): Promise<GetManyResult>;
+
+  /**
+   * Set the values in preferences for the given keys.
+   *
+   * On Android, all values are written in a single operation, so either all
+   * of them or none of them are persisted.
+   *
+   * @since 8.1.0
+   */
+  setMany(options: SetManyOptions): Promise<void>;
+
+  /**
+   * Remove the values from preferences for the given keys, if any.
+   *
+   * @since 8.1.0
+   */
+  removeMany(options: RemoveManyOptions): Promise<void>;
+
   /**
    * Clear keys and values from preferences.
    *
@@ -131,6 +387,69 @@ export interface PreferencesPlugin {
    */
   keys(): Promise<KeysResult>;
 
+  /**
+   * Return the keys in preferences starting with a given prefix.
+   *
+   * Keys are returned in lexicographic order of their UTF-16 code units,
+   * which is the same on every platform. Use `limit` and `cursor` to
+   * enumerate large groups in pages.
+   *
+   * @since 8.1.0
+   */
+  keysWithPrefix(options: KeysWithPrefixOptions): Promise<KeysWithPrefixResult>;
+
+  /**
+   * Return the stored and decoded sizes of the values in the current
+   * preferences group.
+   *
+   * All values are read, so this is meant for diagnostics.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  getStorageInfo(): Promise<StorageInfo>;
+
+  /**
+   * Start reporting changes of the current preferences group through the
+   * `change` event, including changes made by native code.
+   *
+   * Calling it again replaces the previous filter.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  watch(options?: WatchOptions): Promise<void>;
+
+  /**
+   * Stop reporting changes through the `change` event.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  unwatch(): Promise<void>;
+
+  /**
+   * Listens for changes of the watched keys.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  addListener(
+    eventName: 'change',
+    listenerFunc: (event: PreferencesChangeEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Removes all listeners for this plugin.
+   *
+   * @since 8.1.0
+   */
+  removeAllListeners(): Promise<void>;
+
   /**
    * Migrate data from the Capacitor 2 Storage plugin.
    *
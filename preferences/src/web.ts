@@ -7,8 +7,15 @@ import type {
   GetResult,
   SetOptions,
   RemoveOptions,
+  GetManyOptions,
+  GetManyResult,
+  SetManyOptions,
+  RemoveManyOptions,
   KeysResult,
+  KeysWithPrefixOptions,
+  KeysWithPrefixResult,
   MigrateResult,
+  StorageInfo,
 } from './definitions';
 
 export class PreferencesWeb extends WebPlugin implements PreferencesPlugin {
@@ -34,18 +41,64 @@ export class PreferencesWeb extends WebPlugin implements PreferencesPlugin {
     this.impl.removeItem(this.applyPrefix(options.key));
   }
 
+  public async getMany(options: GetManyOptions): Promise<GetManyResult> {
+    const values: { [key: string]: string | null } = {};
+    for (const key of options.keys) {
+      values[key] = this.impl.getItem(this.applyPrefix(key));
+    }
+
+    return { values };
+  }
+
+  public async setMany(options: SetManyOptions): Promise<void> {
+    for (const [key, value] of Object.entries(options.values)) {
+      this.impl.setItem(this.applyPrefix(key), value);
+    }
+  }
+
+  public async removeMany(options: RemoveManyOptions): Promise<void> {
+    for (const key of options.keys) {
+      this.impl.removeItem(this.applyPrefix(key));
+    }
+  }
+
   public async keys(): Promise<KeysResult> {
     const keys = this.rawKeys().map((k) => k.substring(this.prefix.length));
 
     return { keys };
   }
 
+  public async keysWithPrefix(options: KeysWithPrefixOptions): Promise<KeysWithPrefixResult> {
+    const { prefix, limit = Number.MAX_SAFE_INTEGER, cursor } = options;
+    const keys = (await this.keys()).keys
+      .filter((k) => k.startsWith(prefix) && (typeof cursor !== 'string' || k > cursor))
+      .sort();
+    const page = keys.slice(0, limit);
+
+    return {
+      keys: page,
+      cursor: keys.length > page.length ? page[page.length - 1] : null,
+    };
+  }
+
   public async clear(): Promise<void> {
     for (const key of this.rawKeys()) {
       this.impl.removeItem(key);
     }
   }
 
+  public async getStorageInfo(): Promise<StorageInfo> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  public async watch(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  public async unwatch(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
   public async migrate(): Promise<MigrateResult> {
     const migrated: string[] = [];
     const existing: string[] = [];
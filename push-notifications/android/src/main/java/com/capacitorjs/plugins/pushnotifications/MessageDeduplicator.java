@@ -0,0 +1,195 @@
+package com.capacitorjs.plugins.pushnotifications;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.getcapacitor.Logger;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers recently surfaced FCM message ids so that redelivered messages are not
+ * reported to JS more than once.
+ *
+ * Ids are stored as 64-bit hashes in a bounded, access-ordered map. Entries expire after
+ * the configured window and the least recently seen entry is evicted once the map is full.
+ * New entries are appended to a private file so they survive process restarts, without
+ * rewriting the whole set for every message. The file is rewritten from the map once it holds
+ * twice as many entries as the map can.
+ */
+public class MessageDeduplicator {
+
+    private static final String PREFS_NAME = "CapacitorPushNotificationsSeenMessages";
+    private static final String PREFS_KEY_SUPPRESSED = "suppressed";
+    private static final String ENTRIES_FILE_NAME = "CapacitorPushNotificationsSeenMessages.txt";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final SharedPreferences preferences;
+    private final File entriesFile;
+    private final int maxEntries;
+    private final long windowMs;
+    private final LinkedHashMap<Long, Long> seen;
+    private long suppressed;
+    // entries in the file, including the ones that expired or were evicted since
+    private int persistedEntries;
+
+    public MessageDeduplicator(Context context, int maxEntries, long windowMs) {
+        this.preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.entriesFile = new File(context.getNoBackupFilesDir(), ENTRIES_FILE_NAME);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.windowMs = windowMs;
+        this.seen = new LinkedHashMap<>(this.maxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > MessageDeduplicator.this.maxEntries;
+            }
+        };
+        restore();
+    }
+
+    /**
+     * Records the given message id for the given event type.
+     *
+     * @return true if the message was not seen within the window and should be surfaced,
+     * false if it is a duplicate
+     */
+    public synchronized boolean markSeen(String eventType, String messageId) {
+        if (messageId == null || messageId.isEmpty()) {
+            return true;
+        }
+
+        long now = currentTime();
+        evictExpired(now);
+
+        long hash = hash(eventType + ":" + messageId);
+        if (seen.get(hash) != null) {
+            suppressed++;
+            preferences.edit().putLong(PREFS_KEY_SUPPRESSED, suppressed).apply();
+            return false;
+        }
+
+        seen.put(hash, now);
+        if (persistedEntries >= maxEntries * 2) {
+            rewriteEntries();
+        } else {
+            appendEntry(hash, now);
+        }
+        return true;
+    }
+
+    public synchronized long getSuppressedCount() {
+        return suppressed;
+    }
+
+    public synchronized int getTrackedCount() {
+        evictExpired(currentTime());
+        return seen.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public synchronized void clear() {
+        seen.clear();
+        suppressed = 0;
+        preferences.edit().putLong(PREFS_KEY_SUPPRESSED, suppressed).apply();
+        rewriteEntries();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<Long, Long>> iterator = seen.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() > windowMs) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void restore() {
+        suppressed = preferences.getLong(PREFS_KEY_SUPPRESSED, 0);
+        if (!entriesFile.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(entriesFile), StandardCharsets.UTF_8))) {
+            String entry;
+            while ((entry = reader.readLine()) != null) {
+                persistedEntries++;
+                int separator = entry.indexOf(':');
+                if (separator <= 0) {
+                    continue;
+                }
+                try {
+                    long hash = Long.parseUnsignedLong(entry.substring(0, separator), 16);
+                    long timestamp = Long.parseLong(entry.substring(separator + 1));
+                    seen.put(hash, timestamp);
+                } catch (NumberFormatException ignored) {}
+            }
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("PushNotifications"), "Unable to read seen messages", ex);
+        }
+        evictExpired(currentTime());
+    }
+
+    private void appendEntry(long hash, long timestamp) {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(entriesFile, true), StandardCharsets.UTF_8)) {
+            writer.write(formatEntry(hash, timestamp));
+            persistedEntries++;
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("PushNotifications"), "Unable to store seen message", ex);
+        }
+    }
+
+    private void rewriteEntries() {
+        // written next to the file and renamed, so an interrupted rewrite keeps the old entries
+        File temp = new File(entriesFile.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            for (Map.Entry<Long, Long> entry : seen.entrySet()) {
+                writer.write(formatEntry(entry.getKey(), entry.getValue()));
+            }
+        } catch (IOException ex) {
+            Logger.error(Logger.tags("PushNotifications"), "Unable to store seen messages", ex);
+            temp.delete();
+            return;
+        }
+        if (temp.renameTo(entriesFile)) {
+            persistedEntries = seen.size();
+        } else {
+            temp.delete();
+        }
+    }
+
+    private static String formatEntry(long hash, long timestamp) {
+        return Long.toHexString(hash) + ':' + timestamp + '\n';
+    }
+
+    private static long currentTime() {
+        // Wall clock time is used because the entries have to stay valid across reboots.
+        return System.currentTimeMillis();
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
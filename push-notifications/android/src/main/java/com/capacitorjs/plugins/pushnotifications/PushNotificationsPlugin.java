@@ -36,14 +36,26 @@ public class PushNotificationsPlugin extends Plugin {
     public NotificationManager notificationManager;
     public MessagingService firebaseMessagingService;
     private NotificationChannelManager notificationChannelManager;
+    private MessageDeduplicator messageDeduplicator;
 
     private static final String EVENT_TOKEN_CHANGE = "registration";
     private static final String EVENT_TOKEN_ERROR = "registrationError";
+    private static final String EVENT_NOTIFICATION_RECEIVED = "pushNotificationReceived";
+    private static final String EVENT_ACTION_PERFORMED = "pushNotificationActionPerformed";
+
+    private static final int DEFAULT_DEDUPLICATION_CACHE_SIZE = 200;
+    private static final int DEFAULT_DEDUPLICATION_WINDOW = 24 * 60 * 60;
 
     public void load() {
         notificationManager = (NotificationManager) getActivity().getSystemService(Context.NOTIFICATION_SERVICE);
         firebaseMessagingService = new MessagingService();
 
+        if (getConfig().getBoolean("deduplicateMessages", false)) {
+            int cacheSize = getConfig().getInt("deduplicationCacheSize", DEFAULT_DEDUPLICATION_CACHE_SIZE);
+            int window = getConfig().getInt("deduplicationWindow", DEFAULT_DEDUPLICATION_WINDOW);
+            messageDeduplicator = new MessageDeduplicator(getContext(), cacheSize, window * 1000L);
+        }
+
         staticBridge = this.bridge;
         if (lastMessage != null) {
             fireNotification(lastMessage);
@@ -58,6 +70,9 @@ public class PushNotificationsPlugin extends Plugin {
         super.handleOnNewIntent(data);
         Bundle bundle = data.getExtras();
         if (bundle != null && bundle.containsKey("google.message_id")) {
+            if (isDuplicate(EVENT_ACTION_PERFORMED, bundle.getString("google.message_id"))) {
+                return;
+            }
             JSObject notificationJson = new JSObject();
             JSObject dataObject = new JSObject();
             for (String key : bundle.keySet()) {
@@ -72,7 +87,7 @@ public class PushNotificationsPlugin extends Plugin {
             JSObject actionJson = new JSObject();
             actionJson.put("actionId", "tap");
             actionJson.put("notification", notificationJson);
-            notifyListeners("pushNotificationActionPerformed", actionJson, true);
+            notifyListeners(EVENT_ACTION_PERFORMED, actionJson, true);
         }
     }
 
@@ -203,6 +218,22 @@ public class PushNotificationsPlugin extends Plugin {
         notificationChannelManager.listChannels(call);
     }
 
+    @PluginMethod
+    public void getDeduplicationStats(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("enabled", messageDeduplicator != null);
+        if (messageDeduplicator != null) {
+            result.put("suppressed", messageDeduplicator.getSuppressedCount());
+            result.put("tracked", messageDeduplicator.getTrackedCount());
+            result.put("capacity", messageDeduplicator.getMaxEntries());
+        } else {
+            result.put("suppressed", 0);
+            result.put("tracked", 0);
+            result.put("capacity", 0);
+        }
+        call.resolve(result);
+    }
+
     public void sendToken(String token) {
         JSObject data = new JSObject();
         data.put("value", token);
@@ -232,6 +263,10 @@ public class PushNotificationsPlugin extends Plugin {
     }
 
     public void fireNotification(RemoteMessage remoteMessage) {
+        if (isDuplicate(EVENT_NOTIFICATION_RECEIVED, remoteMessage.getMessageId())) {
+            return;
+        }
+
         JSObject remoteMessageData = new JSObject();
 
         JSObject data = new JSObject();
@@ -292,7 +327,15 @@ public class PushNotificationsPlugin extends Plugin {
             }
         }
 
-        notifyListeners("pushNotificationReceived", remoteMessageData, true);
+        notifyListeners(EVENT_NOTIFICATION_RECEIVED, remoteMessageData, true);
+    }
+
+    private boolean isDuplicate(String eventName, String messageId) {
+        if (messageDeduplicator == null || messageDeduplicator.markSeen(eventName, messageId)) {
+            return false;
+        }
+        Logger.debug(getLogTag(), "Suppressed duplicate " + eventName + " for message " + messageId);
+        return true;
     }
 
     public static PushNotificationsPlugin getPushNotificationsInstance() {
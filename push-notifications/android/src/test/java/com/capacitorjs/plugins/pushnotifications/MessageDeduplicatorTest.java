@@ -0,0 +1,99 @@
+package com.capacitorjs.plugins.pushnotifications;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import java.io.File;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class MessageDeduplicatorTest {
+
+    private static final long WINDOW = 60 * 60 * 1000L;
+
+    private Context context;
+    private File entriesFile;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        entriesFile = new File(context.getNoBackupFilesDir(), "CapacitorPushNotificationsSeenMessages.txt");
+    }
+
+    @Test
+    public void duplicatesAreSuppressed() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(context, 10, WINDOW);
+
+        assertTrue(deduplicator.markSeen("received", "a"));
+        assertFalse(deduplicator.markSeen("received", "a"));
+        assertTrue(deduplicator.markSeen("actionPerformed", "a"));
+        assertTrue(deduplicator.markSeen("received", null));
+        assertTrue(deduplicator.markSeen("received", null));
+        assertEquals(1, deduplicator.getSuppressedCount());
+        assertEquals(2, deduplicator.getTrackedCount());
+    }
+
+    @Test
+    public void seenMessagesSurviveARestart() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(context, 10, WINDOW);
+        deduplicator.markSeen("received", "a");
+        deduplicator.markSeen("received", "a");
+
+        MessageDeduplicator restarted = new MessageDeduplicator(context, 10, WINDOW);
+        assertFalse(restarted.markSeen("received", "a"));
+        assertEquals(2, restarted.getSuppressedCount());
+    }
+
+    @Test
+    public void onlyNewMessagesAreAppended() throws Exception {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(context, 10, WINDOW);
+        deduplicator.markSeen("received", "a");
+        deduplicator.markSeen("received", "b");
+        deduplicator.markSeen("received", "b");
+
+        assertEquals(2, Files.readAllLines(entriesFile.toPath()).size());
+    }
+
+    @Test
+    public void fileIsRewrittenOnceItHoldsTwiceTheCapacity() throws Exception {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(context, 2, WINDOW);
+        for (int i = 0; i < 5; i++) {
+            deduplicator.markSeen("received", "message" + i);
+        }
+
+        assertEquals(2, Files.readAllLines(entriesFile.toPath()).size());
+        MessageDeduplicator restarted = new MessageDeduplicator(context, 2, WINDOW);
+        assertFalse(restarted.markSeen("received", "message4"));
+        assertFalse(restarted.markSeen("received", "message3"));
+        assertTrue(restarted.markSeen("received", "message0"));
+    }
+
+    @Test
+    public void leastRecentlySeenMessageIsEvicted() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(context, 2, WINDOW);
+        deduplicator.markSeen("received", "a");
+        deduplicator.markSeen("received", "b");
+        deduplicator.markSeen("received", "a");
+        deduplicator.markSeen("received", "c");
+
+        assertFalse(deduplicator.markSeen("received", "a"));
+        assertTrue(deduplicator.markSeen("received", "b"));
+    }
+
+    @Test
+    public void clearForgetsEverything() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(context, 10, WINDOW);
+        deduplicator.markSeen("received", "a");
+        deduplicator.markSeen("received", "a");
+        deduplicator.clear();
+
+        MessageDeduplicator restarted = new MessageDeduplicator(context, 10, WINDOW);
+        assertEquals(0, restarted.getSuppressedCount());
+        assertTrue(restarted.markSeen("received", "a"));
+    }
+}
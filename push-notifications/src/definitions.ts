@@ -24,6 +24,46 @@ declare module '@capacitor/cli' {
        * @example ["badge", "sound", "alert"]
        */
       presentationOptions: PresentationOption[];
+
+      /**
+       * Whether to suppress messages that were already reported to JS.
+       *
+       * FCM can redeliver a message while reconnecting. When enabled, the
+       * `pushNotificationReceived` and `pushNotificationActionPerformed` events
+       * are only fired once per message id.
+       *
+       * Off by default, because the ids are written to storage for every
+       * message.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default false
+       * @example true
+       */
+      deduplicateMessages?: boolean;
+
+      /**
+       * Maximum number of message ids remembered for de-duplication.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default 200
+       * @example 500
+       */
+      deduplicationCacheSize?: number;
+
+      /**
+       * How long, in seconds, a message id is remembered for de-duplication.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default 86400
+       * @example 3600
+       */
+      deduplicationWindow?: number;
     };
   }
 }
@@ -97,6 +137,15 @@ export interface PushNotificationsPlugin {
    */
   listChannels(): Promise<ListChannelsResult>;
 
+  /**
+   * Get the counters of the message de-duplication stage.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  getDeduplicationStats(): Promise<DeduplicationStats>;
+
   /**
    * Check permission to receive push notifications.
    *
@@ -427,6 +476,36 @@ export interface ListChannelsResult {
   channels: Channel[];
 }
 
+export interface DeduplicationStats {
+  /**
+   * Whether message de-duplication is enabled.
+   *
+   * @since 8.1.0
+   */
+  enabled: boolean;
+
+  /**
+   * Number of duplicate events that were not fired.
+   *
+   * @since 8.1.0
+   */
+  suppressed: number;
+
+  /**
+   * Number of message ids currently remembered.
+   *
+   * @since 8.1.0
+   */
+  tracked: number;
+
+  /**
+   * Maximum number of message ids that can be remembered.
+   *
+   * @since 8.1.0
+   */
+  capacity: number;
+}
+
 export interface PermissionStatus {
   /**
    * Permission state of receiving notifications.
@@ -0,0 +1,56 @@
+package com.capacitorjs.plugins.share;
+
+import androidx.annotation.NonNull;
+import java.io.InputStream;
+
+/**
+ * Reads the characters of a sequence as single bytes, so ASCII content such as base64 is decoded
+ * without copying the string. Only the low byte of other characters is kept.
+ *
+ * The clipboard and share plugins have identical copies of this class.
+ */
+class CharSequenceInputStream extends InputStream {
+
+    private final CharSequence chars;
+    private int position;
+
+    CharSequenceInputStream(@NonNull CharSequence chars) {
+        this(chars, 0);
+    }
+
+    /**
+     * @param start the index of the first character to read
+     */
+    CharSequenceInputStream(@NonNull CharSequence chars, int start) {
+        this.chars = chars;
+        this.position = Math.min(Math.max(0, start), chars.length());
+    }
+
+    @Override
+    public int read() {
+        return position < chars.length() ? chars.charAt(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= chars.length()) {
+            return -1;
+        }
+        int count = Math.min(length, chars.length() - position);
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = (byte) chars.charAt(position++);
+        }
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chars.length() - position;
+    }
+}
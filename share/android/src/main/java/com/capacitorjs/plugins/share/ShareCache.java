@@ -0,0 +1,159 @@
+package com.capacitorjs.plugins.share;
+
+import android.content.Context;
+import android.util.Base64;
+import android.util.Base64InputStream;
+import androidx.annotation.NonNull;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Writes shared content to files in the cache directory, where the FileProvider serves them to
+ * the receiving app, and evicts the files of earlier shares.
+ *
+ * Each file gets its own directory, so the receiver sees the original file name.
+ */
+class ShareCache {
+
+    private static final String CACHE_DIR = "CapacitorShare";
+    private static final int BUFFER_SIZE = 16 * 1024;
+    // The receiver may still be reading recent shares, so only older ones and overflow are evicted
+    private static final long MAX_AGE_MS = 24 * 60 * 60 * 1000L;
+    private static final long MAX_BYTES = 50L * 1024 * 1024;
+
+    private final Context context;
+    private final long maxAgeMs;
+    private final long maxBytes;
+
+    ShareCache(@NonNull Context context) {
+        this(context, MAX_AGE_MS, MAX_BYTES);
+    }
+
+    ShareCache(@NonNull Context context, long maxAgeMs, long maxBytes) {
+        this.context = context;
+        this.maxAgeMs = maxAgeMs;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Write content to a new file in the share cache.
+     *
+     * @param filename the name the receiver sees, any path is removed
+     * @param data the content, base64 encoded or as text
+     * @param base64 whether the content is base64 encoded
+     */
+    @NonNull
+    File write(@NonNull String filename, @NonNull CharSequence data, boolean base64) throws IOException {
+        String name = new File(filename).getName();
+        if (name.isEmpty()) {
+            throw new IOException("A file name is required");
+        }
+
+        File dir = new File(getCacheDir(), UUID.randomUUID().toString());
+        if (!dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+        File file = new File(dir, name);
+        try (OutputStream out = new FileOutputStream(file)) {
+            if (base64) {
+                try (InputStream in = new Base64InputStream(new CharSequenceInputStream(data), Base64.DEFAULT)) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                    }
+                }
+            } else {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                writer.append(data);
+                writer.flush();
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            delete(dir);
+            throw new IOException("Unable to write " + name, ex);
+        }
+        return file;
+    }
+
+    /**
+     * Remove files of earlier shares that are older than a day, then the oldest ones until the
+     * cache fits its size limit.
+     *
+     * @param keep files of the current share, which are never removed
+     */
+    void evict(@NonNull Collection<File> keep) {
+        File[] dirs = getCacheDir().listFiles();
+        if (dirs == null) {
+            return;
+        }
+        // Newest first, so the size limit keeps the most recent shares
+        Arrays.sort(dirs, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+
+        // The current share counts against the size limit first
+        long total = 0;
+        for (File dir : dirs) {
+            if (isKept(dir, keep)) {
+                total += size(dir);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (File dir : dirs) {
+            if (isKept(dir, keep)) {
+                continue;
+            }
+            long size = size(dir);
+            if (now - dir.lastModified() > maxAgeMs || total + size > maxBytes) {
+                delete(dir);
+            } else {
+                total += size;
+            }
+        }
+    }
+
+    private static boolean isKept(File dir, Collection<File> keep) {
+        for (File file : keep) {
+            if (dir.equals(file.getParentFile())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long size(File file) {
+        if (file.isFile()) {
+            return file.length();
+        }
+        long size = 0;
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                size += size(child);
+            }
+        }
+        return size;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private File getCacheDir() {
+        return new File(context.getCacheDir(), CACHE_DIR);
+    }
+}
@@ -0,0 +1,111 @@
+package com.capacitorjs.plugins.share;
+
+import android.content.ClipData;
+import android.content.ClipDescription;
+import android.content.Context;
+import android.net.Uri;
+import android.webkit.MimeTypeMap;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.FileProvider;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Resolves the files of a share to FileProvider URIs and MIME types. Meant to run off the main
+ * thread, as resolving touches the file system for every file.
+ */
+class ShareFiles {
+
+    private static final String ANY_TYPE = "*/*";
+
+    final ArrayList<Uri> uris;
+    final List<String> mimeTypes;
+
+    private ShareFiles(ArrayList<Uri> uris, List<String> mimeTypes) {
+        this.uris = uris;
+        this.mimeTypes = mimeTypes;
+    }
+
+    /**
+     * @param files file URLs of the files to share
+     * @throws IllegalArgumentException if a URL is not a file URL or is not shared by the FileProvider
+     */
+    @NonNull
+    static ShareFiles resolve(@NonNull Context context, @NonNull List<String> files) {
+        String authority = context.getPackageName() + ".fileprovider";
+        ArrayList<Uri> uris = new ArrayList<>(files.size());
+        List<String> mimeTypes = new ArrayList<>(files.size());
+        for (String file : files) {
+            if (!file.startsWith("file:")) {
+                throw new IllegalArgumentException("only file urls are supported");
+            }
+            uris.add(FileProvider.getUriForFile(context, authority, new File(Uri.parse(file).getPath())));
+            mimeTypes.add(getMimeType(file));
+        }
+        return new ShareFiles(uris, mimeTypes);
+    }
+
+    /**
+     * @return the most specific type that covers all files, such as image/* for a mix of JPEG and
+     * PNG images
+     */
+    @NonNull
+    String getCommonMimeType() {
+        return getCommonMimeType(mimeTypes);
+    }
+
+    /**
+     * @param mimeTypes types of the files, null where the type is unknown
+     */
+    @NonNull
+    static String getCommonMimeType(@NonNull List<String> mimeTypes) {
+        String common = null;
+        for (String type : mimeTypes) {
+            if (type == null) {
+                return ANY_TYPE;
+            }
+            if (common == null) {
+                common = type;
+            } else if (!common.equals(type)) {
+                String topLevel = type.substring(0, type.indexOf('/'));
+                if (!common.startsWith(topLevel + "/")) {
+                    return ANY_TYPE;
+                }
+                common = topLevel + "/*";
+            }
+        }
+        return common != null ? common : ANY_TYPE;
+    }
+
+    /**
+     * @return clip data holding every URI, so the receiver is granted read access to all of them
+     */
+    @NonNull
+    ClipData toClipData() {
+        Set<String> distinctTypes = new LinkedHashSet<>();
+        for (String type : mimeTypes) {
+            distinctTypes.add(type != null ? type : ANY_TYPE);
+        }
+        ClipData clipData = new ClipData(new ClipDescription("", distinctTypes.toArray(new String[0])), new ClipData.Item(uris.get(0)));
+        for (int i = 1; i < uris.size(); i++) {
+            clipData.addItem(new ClipData.Item(uris.get(i)));
+        }
+        return clipData;
+    }
+
+    @Nullable
+    private static String getMimeType(String url) {
+        String type = null;
+        String extension = MimeTypeMap.getFileExtensionFromUrl(url);
+        if (extension != null) {
+            type = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension.toLowerCase(Locale.ROOT));
+        }
+        // Types without a subtype separator can't be combined
+        return type != null && type.indexOf('/') > 0 ? type : null;
+    }
+}
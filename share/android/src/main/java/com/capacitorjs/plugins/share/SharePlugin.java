@@ -5,10 +5,8 @@ import android.app.PendingIntent;
 import android.content.*;
 import android.net.Uri;
 import android.os.Build;
-import android.webkit.MimeTypeMap;
 import androidx.activity.result.ActivityResult;
 import androidx.core.content.ContextCompat;
-import androidx.core.content.FileProvider;
 import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.Plugin;
@@ -19,18 +17,26 @@ import com.getcapacitor.annotation.CapacitorPlugin;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.json.JSONException;
+import org.json.JSONObject;
 
 @CapacitorPlugin(name = "Share")
 public class SharePlugin extends Plugin {
 
     private BroadcastReceiver broadcastReceiver;
     private boolean stopped = false;
-    private boolean isPresenting = false;
+    // Reset on the main thread and the file executor, while shares start on the plugin thread
+    private final AtomicBoolean isPresenting = new AtomicBoolean(false);
     private ComponentName chosenComponent;
+    private final ExecutorService fileExecutor = Executors.newSingleThreadExecutor();
+    private ShareCache shareCache;
 
     @Override
     public void load() {
+        shareCache = new ShareCache(getContext());
         broadcastReceiver = new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
@@ -63,7 +69,7 @@ public class SharePlugin extends Plugin {
             callResult.put("activityType", chosenComponent != null ? chosenComponent.getPackageName() : "");
             call.resolve(callResult);
         }
-        isPresenting = false;
+        isPresenting.set(false);
     }
 
     @PluginMethod
@@ -75,14 +81,15 @@ public class SharePlugin extends Plugin {
 
     @PluginMethod
     public void share(PluginCall call) {
-        if (!isPresenting) {
+        if (!isPresenting.get()) {
             String title = call.getString("title", "");
             String text = call.getString("text");
             String url = call.getString("url");
             JSArray files = call.getArray("files");
+            JSArray data = call.getArray("data");
             String dialogTitle = call.getString("dialogTitle", "Share");
 
-            if (text == null && url == null && (files == null || files.length() == 0)) {
+            if (text == null && url == null && (files == null || files.length() == 0) && (data == null || data.length() == 0)) {
                 call.reject("Must provide a URL or Message or files");
                 return;
             }
@@ -92,7 +99,38 @@ public class SharePlugin extends Plugin {
                 return;
             }
 
-            Intent intent = new Intent(files != null && files.length() > 1 ? Intent.ACTION_SEND_MULTIPLE : Intent.ACTION_SEND);
+            List<String> fileUrls = new ArrayList<>();
+            if (url != null && isFileUrl(url)) {
+                fileUrls.add(url);
+            }
+            if (files != null && files.length() != 0) {
+                try {
+                    fileUrls.addAll(files.<String>toList());
+                } catch (JSONException | ClassCastException ex) {
+                    call.reject("only file urls are supported");
+                    return;
+                }
+            }
+
+            List<JSONObject> dataEntries = new ArrayList<>();
+            if (data != null) {
+                try {
+                    for (int i = 0; i < data.length(); i++) {
+                        JSONObject entry = data.getJSONObject(i);
+                        if (!entry.has("data") || entry.optString("filename", "").isEmpty()) {
+                            call.reject("Data must have a filename and data");
+                            return;
+                        }
+                        dataEntries.add(entry);
+                    }
+                } catch (JSONException ex) {
+                    call.reject("Data must have a filename and data");
+                    return;
+                }
+            }
+
+            int fileCount = fileUrls.size() + dataEntries.size();
+            Intent intent = new Intent(fileCount > 1 ? Intent.ACTION_SEND_MULTIPLE : Intent.ACTION_SEND);
 
             if (text != null) {
                 // If they supplied both fields, concat them
@@ -104,78 +142,75 @@ public class SharePlugin extends Plugin {
             if (url != null && isHttpUrl(url) && text == null) {
                 intent.putExtra(Intent.EXTRA_TEXT, url);
                 intent.setTypeAndNormalize("text/plain");
-            } else if (url != null && isFileUrl(url)) {
-                JSArray filesArray = new JSArray();
-                filesArray.put(url);
-                shareFiles(filesArray, intent, call);
             }
 
             if (title != null) {
                 intent.putExtra(Intent.EXTRA_SUBJECT, title);
             }
 
-            if (files != null && files.length() != 0) {
-                shareFiles(files, intent, call);
-            }
-            int flags = PendingIntent.FLAG_UPDATE_CURRENT;
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-                flags = flags | PendingIntent.FLAG_MUTABLE;
+            if (!isPresenting.compareAndSet(false, true)) {
+                call.reject("Can't share while sharing is in progress");
+                return;
             }
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
-                flags = flags | PendingIntent.FLAG_ALLOW_UNSAFE_IMPLICIT_INTENT;
+            if (fileCount == 0) {
+                present(call, intent, dialogTitle);
+                return;
             }
 
-            // requestCode parameter is not used. Providing 0
-            PendingIntent pi = PendingIntent.getBroadcast(getContext(), 0, new Intent(Intent.EXTRA_CHOSEN_COMPONENT), flags);
-            Intent chooser = Intent.createChooser(intent, dialogTitle, pi.getIntentSender());
-            chosenComponent = null;
-            chooser.addCategory(Intent.CATEGORY_DEFAULT);
-            stopped = false;
-            isPresenting = true;
-            startActivityForResult(call, chooser, "activityResult");
+            // Resolving touches the file system for every file, so it is kept off the calling thread
+            fileExecutor.execute(() -> {
+                ShareFiles shareFiles;
+                try {
+                    List<File> written = new ArrayList<>(dataEntries.size());
+                    for (JSONObject entry : dataEntries) {
+                        boolean base64 = !"utf8".equals(entry.optString("encoding", "base64"));
+                        File file = shareCache.write(entry.getString("filename"), entry.getString("data"), base64);
+                        written.add(file);
+                        fileUrls.add(Uri.fromFile(file).toString());
+                    }
+                    shareCache.evict(written);
+                    shareFiles = ShareFiles.resolve(getContext(), fileUrls);
+                } catch (Exception ex) {
+                    isPresenting.set(false);
+                    call.reject(ex.getLocalizedMessage());
+                    return;
+                }
+                addFiles(intent, shareFiles);
+                getActivity().runOnUiThread(() -> present(call, intent, dialogTitle));
+            });
         } else {
             call.reject("Can't share while sharing is in progress");
         }
     }
 
-    private void shareFiles(JSArray files, Intent intent, PluginCall call) {
-        List<Object> filesList;
-        ArrayList<Uri> fileUris = new ArrayList<>();
-        try {
-            filesList = files.toList();
-            for (int i = 0; i < filesList.size(); i++) {
-                String file = (String) filesList.get(i);
-                if (isFileUrl(file)) {
-                    String type = getMimeType(file);
-                    if (type == null || filesList.size() > 1) {
-                        type = "*/*";
-                    }
-                    intent.setType(type);
-
-                    Uri fileUrl = FileProvider.getUriForFile(
-                        getActivity(),
-                        getContext().getPackageName() + ".fileprovider",
-                        new File(Uri.parse(file).getPath())
-                    );
-                    fileUris.add(fileUrl);
-                } else {
-                    call.reject("only file urls are supported");
-                    return;
-                }
-            }
-            if (fileUris.size() > 1) {
-                intent.putExtra(Intent.EXTRA_STREAM, fileUris);
-            } else if (fileUris.size() == 1) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-                    intent.setClipData(ClipData.newRawUri("", fileUris.get(0)));
-                }
-                intent.putExtra(Intent.EXTRA_STREAM, fileUris.get(0));
-            }
-            intent.setFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
-        } catch (Exception ex) {
-            call.reject(ex.getLocalizedMessage());
-            return;
+    private void present(PluginCall call, Intent intent, String dialogTitle) {
+        int flags = PendingIntent.FLAG_UPDATE_CURRENT;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            flags = flags | PendingIntent.FLAG_MUTABLE;
         }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            flags = flags | PendingIntent.FLAG_ALLOW_UNSAFE_IMPLICIT_INTENT;
+        }
+
+        // requestCode parameter is not used. Providing 0
+        PendingIntent pi = PendingIntent.getBroadcast(getContext(), 0, new Intent(Intent.EXTRA_CHOSEN_COMPONENT), flags);
+        Intent chooser = Intent.createChooser(intent, dialogTitle, pi.getIntentSender());
+        chosenComponent = null;
+        chooser.addCategory(Intent.CATEGORY_DEFAULT);
+        stopped = false;
+        startActivityForResult(call, chooser, "activityResult");
+    }
+
+    private void addFiles(Intent intent, ShareFiles shareFiles) {
+        intent.setType(shareFiles.getCommonMimeType());
+        if (shareFiles.uris.size() > 1) {
+            intent.putParcelableArrayListExtra(Intent.EXTRA_STREAM, shareFiles.uris);
+        } else {
+            intent.putExtra(Intent.EXTRA_STREAM, shareFiles.uris.get(0));
+        }
+        // Grants the receiver read access to every file at once
+        intent.setClipData(shareFiles.toClipData());
+        intent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
     }
 
     @Override
@@ -183,6 +218,7 @@ public class SharePlugin extends Plugin {
         if (broadcastReceiver != null) {
             getActivity().unregisterReceiver(broadcastReceiver);
         }
+        fileExecutor.shutdown();
     }
 
     @Override
@@ -191,15 +227,6 @@ public class SharePlugin extends Plugin {
         stopped = true;
     }
 
-    private String getMimeType(String url) {
-        String type = null;
-        String extension = MimeTypeMap.getFileExtensionFromUrl(url);
-        if (extension != null) {
-            type = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension);
-        }
-        return type;
-    }
-
     private boolean isFileUrl(String url) {
         return url.startsWith("file:");
     }
@@ -0,0 +1,83 @@
+package com.capacitorjs.plugins.share;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.Test;
+
+public class CharSequenceInputStreamTest {
+
+    private static byte[] readAll(InputStream in, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void readsEveryCharacterAsAByte() throws IOException {
+        byte[] bytes = readAll(new CharSequenceInputStream("hello, world"), 5);
+
+        assertEquals("hello, world", new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void startsAtTheGivenIndex() throws IOException {
+        byte[] bytes = readAll(new CharSequenceInputStream("data:text/plain;base64,aGk=", 23), 4);
+
+        assertEquals("aGk=", new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void singleByteReadsEndWithMinusOne() {
+        CharSequenceInputStream in = new CharSequenceInputStream(new StringBuilder("ab"));
+
+        assertEquals('a', in.read());
+        assertEquals(1, in.available());
+        assertEquals('b', in.read());
+        assertEquals(0, in.available());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void bulkReadsFillTheRequestedRange() {
+        CharSequenceInputStream in = new CharSequenceInputStream("abc");
+        byte[] buffer = new byte[5];
+
+        assertEquals(0, in.read(buffer, 1, 0));
+        assertEquals(3, in.read(buffer, 1, 4));
+        assertArrayEquals(new byte[] { 0, 'a', 'b', 'c', 0 }, buffer);
+        assertEquals(-1, in.read(buffer, 0, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> in.read(buffer, 3, 3));
+    }
+
+    @Test
+    public void onlyTheLowByteOfOtherCharactersIsKept() {
+        assertEquals(0xE9, new CharSequenceInputStream("é").read());
+        assertEquals(0x41, new CharSequenceInputStream("Ł").read());
+    }
+
+    @Test
+    public void startBeyondTheEndIsEmpty() {
+        assertEquals(-1, new CharSequenceInputStream("abc", 10).read());
+    }
+
+    @Test
+    public void base64ContentDecodesToTheOriginalBytes() throws IOException {
+        byte[] original = new byte[100000];
+        for (int i = 0; i < original.length; i++) {
+            original[i] = (byte) (i * 31);
+        }
+        String encoded = Base64.getMimeEncoder().encodeToString(original);
+
+        InputStream in = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(encoded));
+        assertArrayEquals(original, readAll(in, 16 * 1024));
+    }
+}
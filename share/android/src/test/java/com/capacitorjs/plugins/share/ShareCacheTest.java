@@ -0,0 +1,112 @@
+package com.capacitorjs.plugins.share;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class ShareCacheTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static File age(File file, long ageMs) {
+        assertTrue(file.getParentFile().setLastModified(System.currentTimeMillis() - ageMs));
+        return file;
+    }
+
+    @Test
+    public void textIsWrittenAsUtf8() throws IOException {
+        File file = new ShareCache(context).write("notes.txt", "préférences 😀", false);
+
+        assertEquals("notes.txt", file.getName());
+        assertEquals("préférences 😀", read(file));
+    }
+
+    @Test
+    public void base64IsDecoded() throws IOException {
+        File file = new ShareCache(context).write("hello.txt", "aGVsbG8gd29ybGQ=", true);
+
+        assertEquals("hello world", read(file));
+    }
+
+    @Test
+    public void pathsAreRemovedFromTheName() throws IOException {
+        File file = new ShareCache(context).write("../../secret.txt", "data", false);
+
+        assertEquals("secret.txt", file.getName());
+        assertEquals(new File(context.getCacheDir(), "CapacitorShare"), file.getParentFile().getParentFile());
+    }
+
+    @Test
+    public void eachFileGetsItsOwnDirectory() throws IOException {
+        ShareCache cache = new ShareCache(context);
+
+        File first = cache.write("same.txt", "1", false);
+        File second = cache.write("same.txt", "2", false);
+        assertNotEquals(first.getParentFile(), second.getParentFile());
+        assertEquals("1", read(first));
+        assertEquals("2", read(second));
+    }
+
+    @Test
+    public void emptyNameIsRejected() {
+        assertThrows(IOException.class, () -> new ShareCache(context).write("", "data", false));
+    }
+
+    @Test
+    public void sharesOlderThanTheMaximumAgeAreEvicted() throws IOException {
+        ShareCache cache = new ShareCache(context, 24 * HOUR, Long.MAX_VALUE);
+        File old = age(cache.write("old.txt", "old", false), 25 * HOUR);
+        File recent = age(cache.write("recent.txt", "recent", false), HOUR);
+
+        cache.evict(Collections.emptyList());
+        assertFalse(old.getParentFile().exists());
+        assertTrue(recent.exists());
+    }
+
+    @Test
+    public void oldestSharesAreEvictedBeyondTheSizeLimit() throws IOException {
+        ShareCache cache = new ShareCache(context, 24 * HOUR, 10);
+        File oldest = age(cache.write("a.txt", "aaaa", false), 3 * HOUR);
+        File older = age(cache.write("b.txt", "bbbb", false), 2 * HOUR);
+        File newest = age(cache.write("c.txt", "cccc", false), HOUR);
+
+        cache.evict(Collections.emptyList());
+        assertFalse(oldest.exists());
+        assertTrue(older.exists());
+        assertTrue(newest.exists());
+    }
+
+    @Test
+    public void keptFilesAreNeverEvicted() throws IOException {
+        ShareCache cache = new ShareCache(context, 24 * HOUR, 4);
+        File kept = age(cache.write("kept.txt", "kept data", false), 48 * HOUR);
+        File other = age(cache.write("other.txt", "data", false), HOUR);
+
+        cache.evict(Collections.singletonList(kept));
+        assertTrue(kept.exists());
+        // the kept file takes the whole limit, even though the other share is newer
+        assertFalse(other.exists());
+    }
+}
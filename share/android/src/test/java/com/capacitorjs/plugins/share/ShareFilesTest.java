@@ -0,0 +1,48 @@
+package com.capacitorjs.plugins.share;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+public class ShareFilesTest {
+
+    @Test
+    public void sameTypeIsKept() {
+        assertEquals("image/png", ShareFiles.getCommonMimeType(Arrays.asList("image/png", "image/png")));
+    }
+
+    @Test
+    public void singleTypeIsKept() {
+        assertEquals("application/pdf", ShareFiles.getCommonMimeType(Collections.singletonList("application/pdf")));
+    }
+
+    @Test
+    public void subtypesAreWidened() {
+        assertEquals("image/*", ShareFiles.getCommonMimeType(Arrays.asList("image/jpeg", "image/png")));
+        assertEquals("image/*", ShareFiles.getCommonMimeType(Arrays.asList("image/jpeg", "image/png", "image/gif")));
+    }
+
+    @Test
+    public void differentTopLevelTypesAreAny() {
+        assertEquals("*/*", ShareFiles.getCommonMimeType(Arrays.asList("image/jpeg", "video/mp4")));
+        assertEquals("*/*", ShareFiles.getCommonMimeType(Arrays.asList("image/jpeg", "image/png", "video/mp4")));
+    }
+
+    @Test
+    public void topLevelTypeMustMatchExactly() {
+        assertEquals("*/*", ShareFiles.getCommonMimeType(Arrays.asList("image/png", "imagex/png")));
+    }
+
+    @Test
+    public void unknownTypeIsAny() {
+        assertEquals("*/*", ShareFiles.getCommonMimeType(Arrays.asList("image/png", null)));
+        assertEquals("*/*", ShareFiles.getCommonMimeType(Arrays.asList(null, "image/png")));
+    }
+
+    @Test
+    public void noFilesIsAny() {
+        assertEquals("*/*", ShareFiles.getCommonMimeType(Collections.emptyList()));
+    }
+}
@@ -29,6 +29,17 @@ export interface ShareOptions {
    */
   files?: string[];
 
+  /**
+   * Android only: Content to share as files, such as generated reports, without
+   * writing them to files first.
+   *
+   * The content is written once to a share cache in the cache directory, which
+   * is cleaned up on later shares, and shared through the app's FileProvider.
+   *
+   * @since 8.1.0
+   */
+  data?: ShareData[];
+
   /**
    * Set a title for the share modal.
    * This option is only supported on Android.
@@ -38,6 +49,31 @@ export interface ShareOptions {
   dialogTitle?: string;
 }
 
+export interface ShareData {
+  /**
+   * The name of the file the receiving app sees. Its extension determines the
+   * MIME type.
+   *
+   * @since 8.1.0
+   */
+  filename: string;
+
+  /**
+   * The content of the file.
+   *
+   * @since 8.1.0
+   */
+  data: string;
+
+  /**
+   * How `data` is encoded. Use `utf8` for text content such as CSV.
+   *
+   * @since 8.1.0
+   * @default 'base64'
+   */
+  encoding?: 'base64' | 'utf8';
+}
+
 export interface ShareResult {
   /**
    * Identifier of the app that received the share action.
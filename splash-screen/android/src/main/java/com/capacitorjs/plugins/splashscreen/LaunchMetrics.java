@@ -0,0 +1,122 @@
+package com.capacitorjs.plugins.splashscreen;
+
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+
+/**
+ * Times of the launch splash screen milestones, in milliseconds since the process started.
+ *
+ * Every milestone is recorded once, the fade end only after the launch splash screen started
+ * hiding. With tracing enabled, the milestones are also emitted as trace sections so they show
+ * up in system traces.
+ */
+class LaunchMetrics {
+
+    static final String TRIGGER_FIRST_PAINT = "firstPaint";
+    static final String TRIGGER_TIMEOUT = "timeout";
+    static final String TRIGGER_HIDE = "hide";
+
+    private static final String TRACE_PREFIX = "SplashScreen ";
+    private static final String TRACE_LAUNCH = "SplashScreen launch";
+    private static final int TRACE_COOKIE = 0;
+
+    private final boolean trace;
+    private Long activityCreateTime;
+    private Long splashDrawTime;
+    private boolean splashFromCache;
+    private Long firstPaintTime;
+    private Long hideTime;
+    private String hideTrigger;
+    private Long fadeEndTime;
+
+    LaunchMetrics(boolean trace) {
+        this.trace = trace;
+    }
+
+    static long sinceProcessStart() {
+        return SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+    }
+
+    synchronized void recordActivityCreate() {
+        if (activityCreateTime == null) {
+            activityCreateTime = sinceProcessStart();
+            trace("activityCreate");
+            if (trace && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                // The launch spans several callbacks, so it is traced as an async section
+                Trace.beginAsyncSection(TRACE_LAUNCH, TRACE_COOKIE);
+            }
+        }
+    }
+
+    synchronized void recordSplashDraw(boolean fromCache) {
+        if (splashDrawTime == null) {
+            splashDrawTime = sinceProcessStart();
+            splashFromCache = fromCache;
+            trace("splashDraw");
+        }
+    }
+
+    synchronized void recordFirstPaint() {
+        if (firstPaintTime == null) {
+            firstPaintTime = sinceProcessStart();
+            trace("firstPaint");
+        }
+    }
+
+    synchronized void recordHide(String trigger) {
+        if (hideTime == null) {
+            hideTime = sinceProcessStart();
+            hideTrigger = trigger;
+            trace("hide");
+        }
+    }
+
+    synchronized void recordFadeEnd() {
+        // Only the launch splash screen is measured
+        if (fadeEndTime == null && hideTime != null) {
+            fadeEndTime = sinceProcessStart();
+            trace("fadeEnd");
+            if (trace && activityCreateTime != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                Trace.endAsyncSection(TRACE_LAUNCH, TRACE_COOKIE);
+            }
+        }
+    }
+
+    synchronized Long getActivityCreateTime() {
+        return activityCreateTime;
+    }
+
+    synchronized Long getSplashDrawTime() {
+        return splashDrawTime;
+    }
+
+    synchronized boolean isSplashFromCache() {
+        return splashFromCache;
+    }
+
+    synchronized Long getFirstPaintTime() {
+        return firstPaintTime;
+    }
+
+    synchronized Long getHideTime() {
+        return hideTime;
+    }
+
+    synchronized String getHideTrigger() {
+        return hideTrigger;
+    }
+
+    synchronized Long getFadeEndTime() {
+        return fadeEndTime;
+    }
+
+    private void trace(String milestone) {
+        if (trace) {
+            // A short section marks the point in time on the thread that reached it
+            Trace.beginSection(TRACE_PREFIX + milestone);
+            Trace.endSection();
+        }
+    }
+}
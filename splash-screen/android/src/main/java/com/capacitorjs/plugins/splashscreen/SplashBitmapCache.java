@@ -0,0 +1,210 @@
+package com.capacitorjs.plugins.splashscreen;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.LayerDrawable;
+import android.os.Build;
+import android.util.DisplayMetrics;
+import com.getcapacitor.Logger;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Caches the splash drawable rasterised to a bitmap file, so later launches decode a bitmap
+ * instead of resolving and inflating the drawable.
+ *
+ * Files are kept in a directory per app version, with a file per display configuration (size,
+ * density and night mode), so rotating the device or switching night mode doesn't throw the cache
+ * away. Directories of other app versions are removed when a new file is written.
+ */
+class SplashBitmapCache {
+
+    private static final String CACHE_DIR = "CapacitorSplashScreen";
+    // Enough for both orientations in day and night mode, resizable windows can add more sizes
+    private static final int MAX_FILES = 8;
+    private static final Executor executor = Executors.newSingleThreadExecutor();
+
+    private final Context context;
+    private final String resourceName;
+
+    SplashBitmapCache(Context context, String resourceName) {
+        this.context = context;
+        this.resourceName = resourceName;
+    }
+
+    /**
+     * Decode the cached bitmap for the current configuration.
+     *
+     * @return the bitmap, or null if nothing is cached yet
+     */
+    Bitmap load() {
+        File file = getFile();
+        if (!file.isFile()) {
+            return null;
+        }
+
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, metrics.widthPixels, metrics.heightPixels);
+        options.inScaled = false;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            // Uploaded to the GPU once, no copy is kept on the heap
+            options.inPreferredConfig = Bitmap.Config.HARDWARE;
+        }
+        return BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+    }
+
+    /**
+     * Rasterise a freshly resolved copy of the splash drawable on a background thread.
+     */
+    void storeAsync() {
+        executor.execute(() -> {
+            try {
+                store();
+            } catch (IOException | RuntimeException ex) {
+                Logger.debug("Unable to cache splash screen: " + ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Whether the drawable can be replaced with a still bitmap.
+     */
+    static boolean isCacheable(Drawable drawable) {
+        if (drawable instanceof Animatable) {
+            return false;
+        }
+        if (drawable instanceof LayerDrawable) {
+            LayerDrawable layers = (LayerDrawable) drawable;
+            for (int i = 0; i < layers.getNumberOfLayers(); i++) {
+                if (layers.getDrawable(i) instanceof Animatable) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void store() throws IOException {
+        int splashId = context.getResources().getIdentifier(resourceName, "drawable", context.getPackageName());
+        if (splashId == 0) {
+            return;
+        }
+        Drawable drawable = context.getResources().getDrawable(splashId, context.getTheme());
+        if (!isCacheable(drawable)) {
+            return;
+        }
+
+        // Keep the intrinsic size so the ImageView scale type behaves the same as with the drawable
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        int width = drawable.getIntrinsicWidth() > 0 ? drawable.getIntrinsicWidth() : metrics.widthPixels;
+        int height = drawable.getIntrinsicHeight() > 0 ? drawable.getIntrinsicHeight() : metrics.heightPixels;
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        drawable.setBounds(0, 0, width, height);
+        drawable.draw(new Canvas(bitmap));
+
+        File file = getFile();
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        } finally {
+            bitmap.recycle();
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Unable to write " + file);
+        }
+
+        evict(dir);
+    }
+
+    /**
+     * Remove the directories of other app versions, and the least recently written files of
+     * the current version beyond the limit.
+     */
+    private static void evict(File versionDir) {
+        File[] versions = versionDir.getParentFile().listFiles();
+        if (versions != null) {
+            for (File version : versions) {
+                if (!version.equals(versionDir)) {
+                    delete(version);
+                }
+            }
+        }
+
+        File[] files = versionDir.listFiles();
+        if (files != null && files.length > MAX_FILES) {
+            Arrays.sort(files, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+            for (int i = MAX_FILES; i < files.length; i++) {
+                files[i].delete();
+            }
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                child.delete();
+            }
+        }
+        file.delete();
+    }
+
+    private File getFile() {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        int nightMode = context.getResources().getConfiguration().uiMode & Configuration.UI_MODE_NIGHT_MASK;
+        String name =
+            resourceName +
+            "-" +
+            metrics.widthPixels +
+            "x" +
+            metrics.heightPixels +
+            "-" +
+            metrics.densityDpi +
+            "-" +
+            nightMode +
+            ".png";
+        return new File(new File(new File(context.getCacheDir(), CACHE_DIR), getAppVersion()), name);
+    }
+
+    /**
+     * Identify the installed app version without a package manager call, which would cost an
+     * IPC on the main thread during cold start. Every install or update writes a new APK, so
+     * its path and modification time change with it and updated splash resources are picked up.
+     */
+    private String getAppVersion() {
+        ApplicationInfo info = context.getApplicationInfo();
+        File apk = new File(info.sourceDir);
+        return Integer.toHexString(info.sourceDir.hashCode()) + "-" + Long.toHexString(apk.lastModified());
+    }
+
+    private static int calculateInSampleSize(int width, int height, int reqWidth, int reqHeight) {
+        int inSampleSize = 1;
+        while (width / (inSampleSize * 2) >= reqWidth && height / (inSampleSize * 2) >= reqHeight) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+}
@@ -8,8 +8,10 @@ import android.app.Dialog;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.Resources;
+import android.graphics.Bitmap;
 import android.graphics.PixelFormat;
 import android.graphics.drawable.Animatable;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.LayerDrawable;
 import android.os.Build;
@@ -48,10 +50,19 @@ public class SplashScreen {
     private View content;
     private SplashScreenConfig config;
     private OnPreDrawListener onPreDrawListener;
+    private SplashScreenSettings launchSettings;
+    private boolean launchPending = false;
+    private final LaunchMetrics launchMetrics;
+    private SplashBitmapCache bitmapCache;
+    private boolean splashFromCache = false;
 
     SplashScreen(Context context, SplashScreenConfig config) {
         this.context = context;
         this.config = config;
+        this.launchMetrics = new LaunchMetrics(config.isLaunchTraceEnabled());
+        if (config.isBitmapCacheEnabled()) {
+            this.bitmapCache = new SplashBitmapCache(context, config.getResourceName());
+        }
     }
 
     /**
@@ -60,12 +71,19 @@ public class SplashScreen {
      * @param activity
      */
     public void showOnLaunch(final AppCompatActivity activity) {
+        launchMetrics.recordActivityCreate();
         if (config.getLaunchShowDuration() == 0) {
             return;
         }
         SplashScreenSettings settings = new SplashScreenSettings();
         settings.setShowDuration(config.getLaunchShowDuration());
         settings.setAutoHide(config.isLaunchAutoHide());
+        if (config.isLaunchAutoHide() && config.isLaunchHideOnFirstPaint()) {
+            // The web content decides when to hide, the timer only caps the wait
+            settings.setShowDuration(config.getLaunchMaxWaitDuration());
+        }
+        launchSettings = settings;
+        launchPending = true;
 
         // Method can fail if styles are incorrectly set...
         // If it fails, log error & fallback to old method
@@ -114,6 +132,7 @@ public class SplashScreen {
                             public void onAnimationEnd(Animator animation) {
                                 isHiding = false;
                                 windowSplashScreenView.remove();
+                                launchMetrics.recordFadeEnd();
                                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
                                     activity.getSplashScreen().clearOnExitAnimationListener();
                                 }
@@ -141,10 +160,11 @@ public class SplashScreen {
                         new Handler(context.getMainLooper()).postDelayed(
                             () -> {
                                 // Splash screen is done... start drawing content.
-                                if (settings.isAutoHide()) {
+                                if (settings.isAutoHide() && finishLaunch(LaunchMetrics.TRIGGER_TIMEOUT)) {
                                     isVisible = false;
                                     onPreDrawListener = null;
                                     content.getViewTreeObserver().removeOnPreDrawListener(this);
+                                    markAndroid12Removed();
                                 }
                             },
                             settings.getShowDuration()
@@ -223,11 +243,16 @@ public class SplashScreen {
                 dialog.show();
             }
             isVisible = true;
+            if (isLaunchSplash) {
+                launchMetrics.recordSplashDraw(false);
+            }
 
             if (settings.isAutoHide()) {
                 new Handler(context.getMainLooper()).postDelayed(
                     () -> {
-                        hideDialog(activity, isLaunchSplash);
+                        if (!isLaunchSplash || finishLaunch(LaunchMetrics.TRIGGER_TIMEOUT)) {
+                            hideDialog(activity, isLaunchSplash);
+                        }
 
                         if (splashListener != null) {
                             splashListener.completed();
@@ -250,6 +275,7 @@ public class SplashScreen {
      * @param settings Settings used to hide the Splash Screen
      */
     public void hide(SplashScreenSettings settings) {
+        finishLaunch(LaunchMetrics.TRIGGER_HIDE);
         hide(settings.getFadeOutDuration(), false);
     }
 
@@ -259,9 +285,58 @@ public class SplashScreen {
      * @param activity the activity showing the dialog
      */
     public void hideDialog(final AppCompatActivity activity) {
+        finishLaunch(LaunchMetrics.TRIGGER_HIDE);
         hideDialog(activity, false);
     }
 
+    /**
+     * Called once the web content has been painted for the first time. Hides the launch splash
+     * screen if it is configured to wait for the first paint.
+     *
+     * @param activity
+     */
+    public void onFirstPaint(final AppCompatActivity activity) {
+        new Handler(context.getMainLooper()).post(() -> {
+            launchMetrics.recordFirstPaint();
+            if (!config.isLaunchAutoHide() || !config.isLaunchHideOnFirstPaint() || !finishLaunch(LaunchMetrics.TRIGGER_FIRST_PAINT)) {
+                return;
+            }
+            if (config.isUsingDialog()) {
+                hideDialog(activity, false);
+            } else {
+                hide(launchSettings.getFadeOutDuration(), false);
+            }
+        });
+    }
+
+    LaunchMetrics getLaunchMetrics() {
+        return launchMetrics;
+    }
+
+    /**
+     * Without a fade out, the Android 12 splash screen is gone as soon as content is drawn.
+     */
+    private void markAndroid12Removed() {
+        if (config.getLaunchFadeOutDuration() <= 0) {
+            launchMetrics.recordFadeEnd();
+        }
+    }
+
+    /**
+     * Mark the launch splash screen as finished.
+     *
+     * @param trigger what caused the launch splash screen to be hidden
+     * @return true if the launch splash screen was still pending
+     */
+    private synchronized boolean finishLaunch(String trigger) {
+        if (!launchPending) {
+            return false;
+        }
+        launchPending = false;
+        launchMetrics.recordHide(trigger);
+        return true;
+    }
+
     public void onPause() {
         tearDown(true);
     }
@@ -291,7 +366,14 @@ public class SplashScreen {
                 );
                 splashImage = inflator.inflate(splashId, root, false);
             } else {
-                splash = getSplashDrawable();
+                splash = getCachedSplashDrawable();
+                splashFromCache = splash != null;
+                if (splash == null) {
+                    splash = getSplashDrawable();
+                    if (splash != null && bitmapCache != null && SplashBitmapCache.isCacheable(splash)) {
+                        bitmapCache.storeAsync();
+                    }
+                }
                 if (splash != null) {
                     if (splash instanceof Animatable) {
                         ((Animatable) splash).start();
@@ -313,10 +395,13 @@ public class SplashScreen {
                     // Stops flickers dead in their tracks
                     // https://stackoverflow.com/a/21847579/32140
                     ImageView imageView = (ImageView) splashImage;
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                        imageView.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
-                    } else {
-                        legacyStopFlickers(imageView);
+                    // Cached splashes are hardware bitmaps, which can't be drawn in software
+                    if (!splashFromCache) {
+                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                            imageView.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
+                        } else {
+                            legacyStopFlickers(imageView);
+                        }
                     }
                     imageView.setScaleType(config.getScaleType());
                     imageView.setImageDrawable(splash);
@@ -361,6 +446,14 @@ public class SplashScreen {
         imageView.setDrawingCacheEnabled(true);
     }
 
+    private Drawable getCachedSplashDrawable() {
+        if (bitmapCache == null) {
+            return null;
+        }
+        Bitmap bitmap = bitmapCache.load();
+        return bitmap != null ? new BitmapDrawable(context.getResources(), bitmap) : null;
+    }
+
     private Drawable getSplashDrawable() {
         int splashId = context.getResources().getIdentifier(config.getResourceName(), "drawable", context.getPackageName());
         try {
@@ -399,7 +492,9 @@ public class SplashScreen {
                 if (settings.isAutoHide()) {
                     new Handler(context.getMainLooper()).postDelayed(
                         () -> {
-                            hide(settings.getFadeOutDuration(), isLaunchSplash);
+                            if (!isLaunchSplash || finishLaunch(LaunchMetrics.TRIGGER_TIMEOUT)) {
+                                hide(settings.getFadeOutDuration(), isLaunchSplash);
+                            }
 
                             if (splashListener != null) {
                                 splashListener.completed();
@@ -442,6 +537,21 @@ public class SplashScreen {
                 return;
             }
 
+            if (isLaunchSplash) {
+                splashImage
+                    .getViewTreeObserver()
+                    .addOnPreDrawListener(
+                        new OnPreDrawListener() {
+                            @Override
+                            public boolean onPreDraw() {
+                                splashImage.getViewTreeObserver().removeOnPreDrawListener(this);
+                                launchMetrics.recordSplashDraw(splashFromCache);
+                                return true;
+                            }
+                        }
+                    );
+            }
+
             if (config.isImmersive()) {
                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
                     activity.runOnUiThread(() -> {
@@ -551,6 +661,7 @@ public class SplashScreen {
                 content.getViewTreeObserver().removeOnPreDrawListener(this.onPreDrawListener);
             }
             this.onPreDrawListener = null;
+            markAndroid12Removed();
             return;
         }
 
@@ -564,11 +675,13 @@ public class SplashScreen {
             @Override
             public void onAnimationEnd(Animator animator) {
                 tearDown(false);
+                launchMetrics.recordFadeEnd();
             }
 
             @Override
             public void onAnimationCancel(Animator animator) {
                 tearDown(false);
+                launchMetrics.recordFadeEnd();
             }
 
             @Override
@@ -621,6 +734,7 @@ public class SplashScreen {
                 content.getViewTreeObserver().removeOnPreDrawListener(this.onPreDrawListener);
             }
             this.onPreDrawListener = null;
+            markAndroid12Removed();
             return;
         }
 
@@ -631,6 +745,7 @@ public class SplashScreen {
                 if (!activity.isFinishing() && !activity.isDestroyed()) {
                     dialog.dismiss();
                 }
+                launchMetrics.recordFadeEnd();
                 dialog = null;
                 isHiding = false;
                 isVisible = false;
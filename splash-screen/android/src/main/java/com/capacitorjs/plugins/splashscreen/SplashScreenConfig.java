@@ -18,6 +18,10 @@ public class SplashScreenConfig {
     private ScaleType scaleType = ScaleType.FIT_XY;
     private boolean usingDialog = false;
     private String layoutName;
+    private boolean launchHideOnFirstPaint = false;
+    private Integer launchMaxWaitDuration = 10000;
+    private boolean bitmapCacheEnabled = false;
+    private boolean launchTraceEnabled = false;
 
     public Integer getBackgroundColor() {
         return backgroundColor;
@@ -126,4 +130,36 @@ public class SplashScreenConfig {
     public void setLaunchFadeOutDuration(Integer launchFadeOutDuration) {
         this.launchFadeOutDuration = launchFadeOutDuration;
     }
+
+    public boolean isLaunchHideOnFirstPaint() {
+        return launchHideOnFirstPaint;
+    }
+
+    public void setLaunchHideOnFirstPaint(boolean launchHideOnFirstPaint) {
+        this.launchHideOnFirstPaint = launchHideOnFirstPaint;
+    }
+
+    public Integer getLaunchMaxWaitDuration() {
+        return launchMaxWaitDuration;
+    }
+
+    public void setLaunchMaxWaitDuration(Integer launchMaxWaitDuration) {
+        this.launchMaxWaitDuration = launchMaxWaitDuration;
+    }
+
+    public boolean isBitmapCacheEnabled() {
+        return bitmapCacheEnabled;
+    }
+
+    public void setBitmapCacheEnabled(boolean bitmapCacheEnabled) {
+        this.bitmapCacheEnabled = bitmapCacheEnabled;
+    }
+
+    public boolean isLaunchTraceEnabled() {
+        return launchTraceEnabled;
+    }
+
+    public void setLaunchTraceEnabled(boolean launchTraceEnabled) {
+        this.launchTraceEnabled = launchTraceEnabled;
+    }
 }
@@ -1,10 +1,13 @@
 package com.capacitorjs.plugins.splashscreen;
 
+import android.webkit.WebView;
 import android.widget.ImageView;
+import com.getcapacitor.JSObject;
 import com.getcapacitor.Logger;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
+import com.getcapacitor.WebViewListener;
 import com.getcapacitor.annotation.CapacitorPlugin;
 import com.getcapacitor.util.WebColor;
 import java.util.Locale;
@@ -14,10 +17,32 @@ public class SplashScreenPlugin extends Plugin {
 
     private SplashScreen splashScreen;
     private SplashScreenConfig config;
+    private WebViewListener firstPaintListener;
+    private boolean firstPaintRequested = false;
 
     public void load() {
         config = getSplashScreenConfig();
         splashScreen = new SplashScreen(getContext(), config);
+        firstPaintListener = new WebViewListener() {
+            @Override
+            public void onPageCommitVisible(WebView view, String url) {
+                if (firstPaintRequested) {
+                    return;
+                }
+                firstPaintRequested = true;
+                // Content is committed, wait until it is actually ready to be drawn
+                view.postVisualStateCallback(
+                    0,
+                    new WebView.VisualStateCallback() {
+                        @Override
+                        public void onComplete(long requestId) {
+                            splashScreen.onFirstPaint(getActivity());
+                        }
+                    }
+                );
+            }
+        };
+        bridge.addWebViewListener(firstPaintListener);
         if (!bridge.isMinimumWebViewInstalled() && bridge.getConfig().getErrorPath() != null && !config.isLaunchAutoHide()) {
             return;
         } else {
@@ -54,6 +79,30 @@ public class SplashScreenPlugin extends Plugin {
         call.resolve();
     }
 
+    @PluginMethod
+    public void getLaunchMetrics(PluginCall call) {
+        LaunchMetrics metrics = splashScreen.getLaunchMetrics();
+        JSObject ret = new JSObject();
+        if (metrics.getActivityCreateTime() != null) {
+            ret.put("activityCreateTime", metrics.getActivityCreateTime());
+        }
+        if (metrics.getSplashDrawTime() != null) {
+            ret.put("splashDrawTime", metrics.getSplashDrawTime());
+            ret.put("splashFromCache", metrics.isSplashFromCache());
+        }
+        if (metrics.getFirstPaintTime() != null) {
+            ret.put("firstPaintTime", metrics.getFirstPaintTime());
+        }
+        if (metrics.getHideTime() != null) {
+            ret.put("hideTime", metrics.getHideTime());
+            ret.put("hideTrigger", metrics.getHideTrigger());
+        }
+        if (metrics.getFadeEndTime() != null) {
+            ret.put("fadeEndTime", metrics.getFadeEndTime());
+        }
+        call.resolve(ret);
+    }
+
     @Override
     protected void handleOnPause() {
         splashScreen.onPause();
@@ -61,6 +110,7 @@ public class SplashScreenPlugin extends Plugin {
 
     @Override
     protected void handleOnDestroy() {
+        bridge.removeWebViewListener(firstPaintListener);
         splashScreen.onDestroy();
     }
 
@@ -100,6 +150,10 @@ public class SplashScreenPlugin extends Plugin {
         if (getConfig().getString("androidSplashResourceName") != null) {
             config.setResourceName(getConfig().getString("androidSplashResourceName"));
         }
+        Boolean bitmapCache = getConfig().getBoolean("androidSplashCache", config.isBitmapCacheEnabled());
+        config.setBitmapCacheEnabled(bitmapCache);
+        Boolean launchTrace = getConfig().getBoolean("launchTrace", config.isLaunchTraceEnabled());
+        config.setLaunchTraceEnabled(launchTrace);
         Boolean immersive = getConfig().getBoolean("splashImmersive", config.isImmersive());
         config.setImmersive(immersive);
 
@@ -157,6 +211,11 @@ public class SplashScreenPlugin extends Plugin {
         Boolean useDialog = getConfig().getBoolean("useDialog", config.isUsingDialog());
         config.setUsingDialog(useDialog);
 
+        Boolean hideOnFirstPaint = getConfig().getBoolean("launchHideOnFirstPaint", config.isLaunchHideOnFirstPaint());
+        config.setLaunchHideOnFirstPaint(hideOnFirstPaint);
+        Integer maxWaitDuration = getConfig().getInt("launchMaxWaitDuration", config.getLaunchMaxWaitDuration());
+        config.setLaunchMaxWaitDuration(maxWaitDuration);
+
         if (getConfig().getString("layoutName") != null) {
             config.setLayoutName(getConfig().getString("layoutName"));
         }
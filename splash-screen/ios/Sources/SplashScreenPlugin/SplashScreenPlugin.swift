@@ -7,7 +7,8 @@ public class SplashScreenPlugin: CAPPlugin, CAPBridgedPlugin {
     public let jsName = "SplashScreen"
     public let pluginMethods: [CAPPluginMethod] = [
         CAPPluginMethod(name: "show", returnType: CAPPluginReturnPromise),
-        CAPPluginMethod(name: "hide", returnType: CAPPluginReturnPromise)
+        CAPPluginMethod(name: "hide", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getLaunchMetrics", returnType: CAPPluginReturnPromise)
     ]
     private var splashScreen: SplashScreen?
 
@@ -43,6 +44,10 @@ public class SplashScreenPlugin: CAPPlugin, CAPBridgedPlugin {
         }
     }
 
+    @objc public func getLaunchMetrics(_ call: CAPPluginCall) {
+        call.unimplemented("Not available on iOS")
+    }
+
     private func splashScreenSettings(from call: CAPPluginCall) -> SplashScreenSettings {
         var settings = SplashScreenSettings()
 
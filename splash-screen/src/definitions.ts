@@ -35,6 +35,33 @@ declare module '@capacitor/cli' {
        */
       launchFadeOutDuration?: number;
 
+      /**
+       * Hide the launch splash screen as soon as the web content has been
+       * painted for the first time, instead of after `launchShowDuration`.
+       *
+       * Calling `hide()` before the first paint still hides the splash screen.
+       * Only used when `launchAutoHide` is true.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default false
+       * @example true
+       */
+      launchHideOnFirstPaint?: boolean;
+
+      /**
+       * Maximum time to wait for the first paint before hiding the launch
+       * splash screen anyway (in ms), used when `launchHideOnFirstPaint` is true.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default 10000
+       * @example 5000
+       */
+      launchMaxWaitDuration?: number;
+
       /**
        * Color of the background of the Splash Screen in hex format, #RRGGBB or #RRGGBBAA.
        * Doesn't work if `useDialog` is true or on launch when using the Android 12 API.
@@ -57,6 +84,23 @@ declare module '@capacitor/cli' {
        */
       androidSplashResourceName?: string;
 
+      /**
+       * Cache the splash resource rasterised to a bitmap, so later launches
+       * decode the bitmap instead of inflating the drawable.
+       *
+       * A bitmap is kept per screen size, density and night mode, and is
+       * refreshed when the app is updated. Animated drawables are not cached.
+       * Doesn't work if `useDialog` is true or on launch when using the
+       * Android 12 API.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default false
+       * @example true
+       */
+      androidSplashCache?: boolean;
+
       /**
        * The [ImageView.ScaleType](https://developer.android.com/reference/android/widget/ImageView.ScaleType) used to scale
        * the Splash Screen image.
@@ -168,6 +212,19 @@ declare module '@capacitor/cli' {
        * @example true
        */
       useDialog?: boolean;
+
+      /**
+       * Emit the milestones of `getLaunchMetrics()` as `SplashScreen <name>`
+       * trace sections and, on Android 10+, the whole launch as the async
+       * `SplashScreen launch` section, so they show up in system traces.
+       *
+       * Only available on Android.
+       *
+       * @since 8.1.0
+       * @default false
+       * @example true
+       */
+      launchTrace?: boolean;
     };
   }
 }
@@ -228,4 +285,63 @@ export interface SplashScreenPlugin {
    * @since 1.0.0
    */
   hide(options?: HideOptions): Promise<void>;
+  /**
+   * Get the timing of the launch splash screen.
+   *
+   * Only available on Android.
+   *
+   * @since 8.1.0
+   */
+  getLaunchMetrics(): Promise<LaunchMetrics>;
+}
+
+export interface LaunchMetrics {
+  /**
+   * Time the activity showing the launch splash screen was created, in ms
+   * since the app process started.
+   *
+   * @since 8.1.0
+   */
+  activityCreateTime?: number;
+  /**
+   * Time the launch splash screen was first drawn, in ms since the app
+   * process started. Not set when using the Android 12 API.
+   *
+   * @since 8.1.0
+   */
+  splashDrawTime?: number;
+  /**
+   * Whether the launch splash screen was drawn from the bitmap cache.
+   *
+   * @since 8.1.0
+   */
+  splashFromCache?: boolean;
+  /**
+   * Time of the first paint of the web content, in ms since the app process
+   * started.
+   *
+   * @since 8.1.0
+   */
+  firstPaintTime?: number;
+  /**
+   * Time the launch splash screen started hiding, in ms since the app process
+   * started. This is the time to interactive of the app.
+   *
+   * @since 8.1.0
+   */
+  hideTime?: number;
+  /**
+   * What caused the launch splash screen to hide: the first paint, the launch
+   * timeout or a call to `hide()`.
+   *
+   * @since 8.1.0
+   */
+  hideTrigger?: 'firstPaint' | 'timeout' | 'hide';
+  /**
+   * Time the launch splash screen was gone after fading out, in ms since the
+   * app process started.
+   *
+   * @since 8.1.0
+   */
+  fadeEndTime?: number;
 }
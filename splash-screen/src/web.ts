@@ -1,6 +1,6 @@
 import { WebPlugin } from '@capacitor/core';
 
-import type { HideOptions, ShowOptions, SplashScreenPlugin } from './definitions';
+import type { HideOptions, LaunchMetrics, ShowOptions, SplashScreenPlugin } from './definitions';
 
 export class SplashScreenWeb extends WebPlugin implements SplashScreenPlugin {
   async show(_options?: ShowOptions): Promise<void> {
@@ -10,4 +10,8 @@ export class SplashScreenWeb extends WebPlugin implements SplashScreenPlugin {
   async hide(_options?: HideOptions): Promise<void> {
     return undefined;
   }
+
+  async getLaunchMetrics(): Promise<LaunchMetrics> {
+    throw this.unimplemented('Not implemented on web.');
+  }
 }